@@ -0,0 +1,206 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.controller.dto.CommentResponse;
+import com.pjy008008.j_community.controller.dto.CursorResponse;
+import com.pjy008008.j_community.model.VoteType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 사용자와 무관한 댓글 페이지를 전위 순회 순서로 직렬화한 바이트 배열.
+// 숫자는 varint로, 작성자 이름은 페이지 안에서 한 번만 쓰고 이후에는 번호로 참조한다.
+// myVote는 담지 않으며 commentIds로 조회자의 투표 상태를 먼저 구한 뒤 복원하면서 덧씌운다.
+public record CachedCommentPage(byte[] tree, long[] commentIds) {
+
+    // 배열 헤더와 레코드 자체의 대략적인 크기
+    private static final int OVERHEAD_BYTES = 64;
+
+    public static CachedCommentPage encode(CursorResponse<CommentResponse> page) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        Writer writer = new Writer(new DataOutputStream(bytes));
+        try {
+            writer.string(page.nextCursor());
+            writer.varLong(page.content().size());
+            for (CommentResponse comment : page.content()) {
+                writer.comment(comment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new CachedCommentPage(bytes.toByteArray(), writer.ids.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    public List<Long> ids() {
+        List<Long> ids = new ArrayList<>(commentIds.length);
+        for (long id : commentIds) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    public CursorResponse<CommentResponse> toResponse(Map<Long, VoteType> userVotes) {
+        Reader reader = new Reader(new DataInputStream(new ByteArrayInputStream(tree)), userVotes);
+        try {
+            String nextCursor = reader.string();
+            List<CommentResponse> content = reader.comments();
+            return new CursorResponse<>(content, nextCursor, nextCursor != null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long sizeInBytes() {
+        return OVERHEAD_BYTES + tree.length + 8L * commentIds.length;
+    }
+
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> authors = new HashMap<>();
+        private final List<Long> ids = new ArrayList<>();
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void comment(CommentResponse comment) throws IOException {
+            ids.add(comment.id());
+            varLong(comment.id());
+            author(comment.author());
+            string(comment.content());
+            varLong(zigZag(comment.votes()));
+            varLong(comment.createdAt().toEpochSecond(ZoneOffset.UTC));
+            varLong(comment.createdAt().getNano());
+            varLong(comment.replyCount());
+            string(comment.moreReplies());
+            varLong(comment.replies().size());
+            for (CommentResponse reply : comment.replies()) {
+                comment(reply);
+            }
+        }
+
+        // 처음 나온 이름은 (번호 = 지금까지의 개수) 뒤에 문자열을 쓰고, 이후에는 번호만 쓴다
+        private void author(String author) throws IOException {
+            Integer ref = authors.get(author);
+            if (ref != null) {
+                varLong(ref);
+                return;
+            }
+            varLong(authors.size());
+            authors.put(author, authors.size());
+            string(author);
+        }
+
+        // 길이 + 1을 앞에 쓴다 (0은 null)
+        private void string(String value) throws IOException {
+            if (value == null) {
+                varLong(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varLong(utf8.length + 1L);
+            out.write(utf8);
+        }
+
+        private void varLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+
+        private static long zigZag(int value) {
+            return ((long) value << 1) ^ (value >> 31);
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream in;
+        private final Map<Long, VoteType> userVotes;
+        private final List<String> authors = new ArrayList<>();
+
+        private Reader(DataInputStream in, Map<Long, VoteType> userVotes) {
+            this.in = in;
+            this.userVotes = userVotes;
+        }
+
+        private List<CommentResponse> comments() throws IOException {
+            int count = (int) varLong();
+            List<CommentResponse> comments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                comments.add(comment());
+            }
+            return comments;
+        }
+
+        private CommentResponse comment() throws IOException {
+            long id = varLong();
+            String author = author();
+            String content = string();
+            int votes = unZigZag(varLong());
+            long epochSecond = varLong();
+            int nano = (int) varLong();
+            int replyCount = (int) varLong();
+            String moreReplies = string();
+            List<CommentResponse> replies = comments();
+            return new CommentResponse(
+                    id,
+                    author,
+                    content,
+                    votes,
+                    userVotes.get(id),
+                    LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC),
+                    replyCount,
+                    replies,
+                    moreReplies
+            );
+        }
+
+        private String author() throws IOException {
+            int ref = (int) varLong();
+            if (ref < authors.size()) {
+                return authors.get(ref);
+            }
+            String author = string();
+            authors.add(author);
+            return author;
+        }
+
+        private String string() throws IOException {
+            int length = (int) varLong();
+            if (length == 0) {
+                return null;
+            }
+            byte[] utf8 = new byte[length - 1];
+            in.readFully(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        private long varLong() throws IOException {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private static int unZigZag(long value) {
+            return (int) ((value >>> 1) ^ -(value & 1));
+        }
+    }
+}
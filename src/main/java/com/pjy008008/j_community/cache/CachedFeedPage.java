@@ -0,0 +1,30 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.controller.dto.PostResponse;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+// 사용자와 무관한 피드 페이지. posts의 myVote는 항상 null이며 조회 후 사용자별로 덧씌운다.
+public record CachedFeedPage(
+        List<Long> postIds,
+        List<PostResponse> posts,
+        long totalElements,
+        String nextCursor
+) {
+    public CachedFeedPage {
+        postIds = List.copyOf(postIds);
+        posts = List.copyOf(posts);
+    }
+
+    public boolean contains(Long postId) {
+        return postIds.contains(postId);
+    }
+
+    public CachedFeedPage patch(Long postId, UnaryOperator<PostResponse> patcher) {
+        List<PostResponse> patched = posts.stream()
+                .map(post -> post.id().equals(postId) ? patcher.apply(post) : post)
+                .toList();
+        return new CachedFeedPage(postIds, patched, totalElements, nextCursor);
+    }
+}
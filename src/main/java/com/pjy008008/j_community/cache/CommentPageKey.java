@@ -0,0 +1,6 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.model.CommentSort;
+
+// 한 게시글 안에서 댓글 페이지를 구분하는 요청 값 (size/depth/replies는 보정이 끝난 값)
+public record CommentPageKey(CommentSort sort, String cursor, int size, int depth, int replies) {}
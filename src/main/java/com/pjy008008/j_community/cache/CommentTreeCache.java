@@ -0,0 +1,120 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.event.UserWithdrawnEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// 게시글별 댓글 페이지 캐시. 조립이 끝난 트리를 CachedCommentPage(직렬화된 바이트)로 보관해 모든 조회자가 함께 쓴다.
+// 게시글마다 ContentVersions의 댓글 버전을 함께 저장하고, 작성/수정/삭제/투표로 버전이 바뀌면 그 게시글의 페이지를 통째로 버린다.
+// 전체 바이트 합이 max-bytes를 넘으면 가장 오래 읽지 않은 게시글부터 내보낸다.
+@Component
+public class CommentTreeCache {
+
+    private final ContentVersions contentVersions;
+    private final long maxBytes;
+
+    private final LinkedHashMap<Long, PostPages> posts = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    public CommentTreeCache(
+            ContentVersions contentVersions,
+            @Value("${comment.tree-cache.max-bytes}") long maxBytes
+    ) {
+        this.contentVersions = contentVersions;
+        this.maxBytes = maxBytes;
+    }
+
+    // DB를 읽기 전에 받아 두고 put에 넘긴다
+    public long version(Long postId) {
+        return contentVersions.commentsVersion(postId);
+    }
+
+    public synchronized Optional<CachedCommentPage> get(Long postId, CommentPageKey key) {
+        PostPages pages = posts.get(postId);
+        if (pages == null) {
+            return Optional.empty();
+        }
+        if (pages.version != contentVersions.commentsVersion(postId)) {
+            remove(postId);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(pages.entries.get(key));
+    }
+
+    public synchronized void put(Long postId, CommentPageKey key, CachedCommentPage page, long observedVersion) {
+        // 읽는 도중 댓글이 바뀌었으면 이미 지난 버전의 결과다
+        if (observedVersion != contentVersions.commentsVersion(postId)) {
+            return;
+        }
+        // 한 페이지가 예산의 큰 부분을 차지하면 다른 게시글을 모두 밀어내므로 넣지 않는다
+        long bytes = page.sizeInBytes();
+        if (bytes > maxBytes / 8) {
+            return;
+        }
+
+        PostPages pages = posts.get(postId);
+        if (pages == null || pages.version != observedVersion) {
+            remove(postId);
+            pages = new PostPages(observedVersion);
+            posts.put(postId, pages);
+        }
+        CachedCommentPage previous = pages.entries.put(key, page);
+        long delta = bytes - (previous != null ? previous.sizeInBytes() : 0);
+        pages.bytes += delta;
+        totalBytes += delta;
+
+        evictUntilWithinBudget(postId);
+    }
+
+    // 탈퇴 시에는 모든 버전이 바뀌어 어차피 다시 쓸 수 없으므로 메모리를 바로 비운다
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserWithdrawn(UserWithdrawnEvent event) {
+        posts.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int cachedPosts() {
+        return posts.size();
+    }
+
+    public synchronized long estimatedBytes() {
+        return totalBytes;
+    }
+
+    // 방금 넣은 게시글은 마지막에 내보낸다
+    private void evictUntilWithinBudget(Long justAdded) {
+        Iterator<Map.Entry<Long, PostPages>> eldest = posts.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Long, PostPages> entry = eldest.next();
+            if (entry.getKey().equals(justAdded) && posts.size() > 1) {
+                continue;
+            }
+            totalBytes -= entry.getValue().bytes;
+            eldest.remove();
+        }
+    }
+
+    private void remove(Long postId) {
+        PostPages removed = posts.remove(postId);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    private static final class PostPages {
+        private final long version;
+        private final Map<CommentPageKey, CachedCommentPage> entries = new HashMap<>();
+        private long bytes = 0;
+
+        private PostPages(long version) {
+            this.version = version;
+        }
+    }
+}
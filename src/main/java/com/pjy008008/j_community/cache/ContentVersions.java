@@ -0,0 +1,149 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.event.CommentDeletedEvent;
+import com.pjy008008.j_community.event.CommentSavedEvent;
+import com.pjy008008.j_community.event.CommentVotedEvent;
+import com.pjy008008.j_community.event.CommunityChangedEvent;
+import com.pjy008008.j_community.event.CountersReconciledEvent;
+import com.pjy008008.j_community.event.PostCommentCountChangedEvent;
+import com.pjy008008.j_community.event.PostCreatedEvent;
+import com.pjy008008.j_community.event.PostDeletedEvent;
+import com.pjy008008.j_community.event.PostUpdatedEvent;
+import com.pjy008008.j_community.event.PostViewsFlushedEvent;
+import com.pjy008008.j_community.event.PostVotedEvent;
+import com.pjy008008.j_community.event.UserWithdrawnEvent;
+import com.pjy008008.j_community.event.VotesFlushedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+// 조건부 GET(ETag)에 쓰는 메모리 버전 스탬프. 커밋 이후 이벤트로만 올라가므로 DB를 읽지 않고 ETag를 만들 수 있다.
+// 게시글별 버전은 id 해시로 나눈 슬롯에 저장하므로 충돌 시 불필요한 재전송이 생길 뿐 오래된 응답이 나가지는 않는다.
+@Component
+public class ContentVersions {
+
+    // 같은 이벤트를 받는 캐시(FeedPageCache)는 이 순서로 먼저 갱신한다. 버전이 먼저 오르면 그 사이 요청이
+    // 새 ETag와 이전 캐시 내용을 함께 가져갈 수 있다. 버전 리스너는 기본값(LOWEST_PRECEDENCE)으로 마지막에 실행된다
+    public static final int CACHE_ORDER = 0;
+
+    private static final int STRIPES = 4096;
+
+    // 재시작하면 버전이 0부터 다시 시작하므로 이전 프로세스가 발급한 ETag와 겹치지 않도록 섞는다
+    private final AtomicLong epoch = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong feedVersion = new AtomicLong();
+    private final AtomicLongArray postVersions = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray commentVersions = new AtomicLongArray(STRIPES);
+
+    // 게시글 목록 (정렬/페이지/조회자별로 달라지는 값은 params와 viewer로 구분)
+    public String feedETag(String viewer, Object... params) {
+        return strongETag(feedVersion.get(), viewer, params);
+    }
+
+    public String postETag(Long postId, String viewer) {
+        return strongETag(postVersions.get(stripe(postId)), viewer, postId);
+    }
+
+    public String commentsETag(Long postId, String viewer, Object... params) {
+        return strongETag(commentVersions.get(stripe(postId)), viewer, postId, Arrays.toString(params));
+    }
+
+    // 댓글 트리 캐시의 게시글별 버전. epoch와 슬롯 버전 모두 증가만 하므로 둘의 합은 어느 쪽이 바뀌어도 달라진다
+    public long commentsVersion(Long postId) {
+        return epoch.get() + commentVersions.get(stripe(postId));
+    }
+
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        feedVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onPostUpdated(PostUpdatedEvent event) {
+        bumpPost(event.postId());
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        bumpPost(event.postId());
+        commentVersions.incrementAndGet(stripe(event.postId()));
+    }
+
+    @TransactionalEventListener
+    public void onPostVoted(PostVotedEvent event) {
+        bumpPost(event.postId());
+    }
+
+    @TransactionalEventListener
+    public void onCommentCountChanged(PostCommentCountChangedEvent event) {
+        bumpPost(event.postId());
+    }
+
+    @TransactionalEventListener
+    public void onCommentSaved(CommentSavedEvent event) {
+        commentVersions.incrementAndGet(stripe(event.postId()));
+    }
+
+    @TransactionalEventListener
+    public void onCommentDeleted(CommentDeletedEvent event) {
+        commentVersions.incrementAndGet(stripe(event.postId()));
+    }
+
+    @TransactionalEventListener
+    public void onCommentVoted(CommentVotedEvent event) {
+        commentVersions.incrementAndGet(stripe(event.postId()));
+    }
+
+    @TransactionalEventListener
+    public void onCommunityChanged(CommunityChangedEvent event) {
+        epoch.incrementAndGet();
+    }
+
+    // 탈퇴 시 cascade로 여러 게시글/댓글이 한꺼번에 사라지므로 모든 ETag를 무효화
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserWithdrawn(UserWithdrawnEvent event) {
+        epoch.incrementAndGet();
+    }
+
+    @EventListener
+    public void onViewsFlushed(PostViewsFlushedEvent event) {
+        event.postIds().forEach(this::bumpPost);
+    }
+
+    @EventListener
+    public void onVotesFlushed(VotesFlushedEvent event) {
+        event.postIds().forEach(this::bumpPost);
+        event.commentPostIds().forEach(postId -> commentVersions.incrementAndGet(stripe(postId)));
+    }
+
+    @EventListener
+    public void onCountersReconciled(CountersReconciledEvent event) {
+        epoch.incrementAndGet();
+    }
+
+    public void bumpFeed() {
+        feedVersion.incrementAndGet();
+    }
+
+    private void bumpPost(Long postId) {
+        postVersions.incrementAndGet(stripe(postId));
+        feedVersion.incrementAndGet();
+    }
+
+    private String strongETag(long version, String viewer, Object... params) {
+        String raw = epoch.get() + "|" + version + "|" + viewer + "|" + Arrays.stream(params)
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        return "\"" + DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static int stripe(Long postId) {
+        return (int) ((postId ^ (postId >>> 32)) & (STRIPES - 1));
+    }
+}
@@ -0,0 +1,184 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.controller.dto.PostResponse;
+import com.pjy008008.j_community.event.CommunityChangedEvent;
+import com.pjy008008.j_community.event.CountersReconciledEvent;
+import com.pjy008008.j_community.event.PostCommentCountChangedEvent;
+import com.pjy008008.j_community.event.PostCreatedEvent;
+import com.pjy008008.j_community.event.PostDeletedEvent;
+import com.pjy008008.j_community.event.PostUpdatedEvent;
+import com.pjy008008.j_community.event.PostViewsFlushedEvent;
+import com.pjy008008.j_community.event.PostVotedEvent;
+import com.pjy008008.j_community.event.UserWithdrawnEvent;
+import com.pjy008008.j_community.event.VotesFlushedEvent;
+import com.pjy008008.j_community.model.FeedSort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+// 전체/커뮤니티 피드 앞쪽 몇 페이지를 보관하는 LRU 캐시.
+// 커밋 이후 발행되는 게시글 이벤트로 해당 페이지만 무효화하거나 값을 덧씌운다.
+// 같은 이벤트로 ContentVersions도 버전을 올리므로, 새 ETag로 이전 페이지가 나가지 않도록 리스너는 그보다 먼저 실행한다.
+@Component
+public class FeedPageCache {
+
+    private final int maxEntries;
+    private final int maxPages;
+    private final long ttlMillis;
+
+    private final ContentVersions contentVersions;
+    private final Map<FeedPageKey, Entry> entries;
+
+    // 무효화/패치가 일어날 때마다 증가한다. 조회 시작 이후 세대가 바뀌었다면 그 결과는 캐시에 넣지 않는다.
+    private long generation = 0;
+
+    public FeedPageCache(
+            @Value("${feed.cache.max-entries}") int maxEntries,
+            @Value("${feed.cache.max-pages}") int maxPages,
+            @Value("${feed.cache.ttl-ms}") long ttlMillis,
+            ContentVersions contentVersions
+    ) {
+        this.contentVersions = contentVersions;
+        this.maxEntries = maxEntries;
+        this.maxPages = maxPages;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FeedPageKey, Entry> eldest) {
+                return size() > FeedPageCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isCacheablePage(int page) {
+        return page < maxPages;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized Optional<CachedFeedPage> get(FeedPageKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        // 만료된 항목은 다시 읽은 값과 비교하도록 put에서 교체될 때까지 남겨 둔다
+        if (isExpired(entry)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.page());
+    }
+
+    // TTL 만료 후 다시 읽은 페이지가 달라졌다면 이벤트 없이 바뀐 내용이므로 목록 ETag도 바꾼다
+    public synchronized void put(FeedPageKey key, CachedFeedPage page, long observedGeneration) {
+        if (observedGeneration != generation) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(page, System.currentTimeMillis()));
+        if (previous != null && isExpired(previous) && !previous.page().equals(page)) {
+            contentVersions.bumpFeed();
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public void onPostCreated(PostCreatedEvent event) {
+        evictCommunity(event.communityName());
+    }
+
+    @TransactionalEventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public void onPostDeleted(PostDeletedEvent event) {
+        evictCommunity(event.communityName());
+    }
+
+    @TransactionalEventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        patch(event.postId(), cached -> event.post().withMyVote(null));
+    }
+
+    // 투표는 hotRank를 바꿔 HOT 페이지의 순서와 구성(다른 페이지/커뮤니티 페이지로의 이동)까지 바꾸므로 HOT은 비우고,
+    // 순서가 그대로인 NEW 페이지만 득표수를 덧씌운다
+    @TransactionalEventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public synchronized void onPostVoted(PostVotedEvent event) {
+        entries.keySet().removeIf(key -> key.sort() == FeedSort.HOT);
+        patch(event.postId(), cached -> cached.withVotes(event.votes()));
+    }
+
+    @TransactionalEventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public void onCommentCountChanged(PostCommentCountChangedEvent event) {
+        patch(event.postId(), cached -> cached.withCommentCount(cached.commentCount() + event.delta()));
+    }
+
+    @TransactionalEventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public synchronized void onCommunityChanged(CommunityChangedEvent event) {
+        generation++;
+        entries.clear();
+    }
+
+    // 탈퇴한 회원의 글이 cascade로 한꺼번에 삭제되므로 전부 비운다
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(ContentVersions.CACHE_ORDER)
+    public synchronized void onUserWithdrawn(UserWithdrawnEvent event) {
+        generation++;
+        entries.clear();
+    }
+
+    // 조회수가 반영된 게시글이 들어 있는 페이지만 비운다 (flush는 트랜잭션 밖에서 발행된다)
+    @EventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public synchronized void onViewsFlushed(PostViewsFlushedEvent event) {
+        generation++;
+        entries.values().removeIf(entry -> event.postIds().stream().anyMatch(entry.page()::contains));
+    }
+
+    // write-behind 점수가 반영되면 hotRank도 이때 바뀌므로 HOT 페이지와, 반영 전 점수로 읽었을 수 있는 페이지를 비운다
+    @EventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public synchronized void onVotesFlushed(VotesFlushedEvent event) {
+        generation++;
+        entries.entrySet().removeIf(entry -> entry.getKey().sort() == FeedSort.HOT
+                || event.postIds().stream().anyMatch(entry.getValue().page()::contains));
+    }
+
+    @EventListener
+    @Order(ContentVersions.CACHE_ORDER)
+    public synchronized void onCountersReconciled(CountersReconciledEvent event) {
+        generation++;
+        entries.clear();
+    }
+
+    // 새 글/삭제된 글은 해당 커뮤니티와 전체 피드의 모든 페이지 위치를 바꾼다
+    private synchronized void evictCommunity(String communityName) {
+        generation++;
+        entries.keySet().removeIf(key ->
+                key.communityName() == null || Objects.equals(key.communityName(), communityName));
+    }
+
+    private synchronized void patch(Long postId, UnaryOperator<PostResponse> patcher) {
+        generation++;
+        entries.replaceAll((key, entry) -> entry.page().contains(postId)
+                ? new Entry(entry.page().patch(postId, patcher), entry.cachedAt())
+                : entry);
+    }
+
+    private boolean isExpired(Entry entry) {
+        return System.currentTimeMillis() - entry.cachedAt() > ttlMillis;
+    }
+
+    private record Entry(CachedFeedPage page, long cachedAt) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.model.FeedSort;
+
+// communityName이 null이면 전체 피드. keyset이 true면 커서 피드의 첫 페이지를 의미한다.
+public record FeedPageKey(String communityName, FeedSort sort, boolean keyset, int page, int size) {
+
+    public static FeedPageKey page(String communityName, FeedSort sort, int page, int size) {
+        return new FeedPageKey(communityName, sort, false, page, size);
+    }
+
+    public static FeedPageKey firstSlice(String communityName, FeedSort sort, int size) {
+        return new FeedPageKey(communityName, sort, true, 0, size);
+    }
+}
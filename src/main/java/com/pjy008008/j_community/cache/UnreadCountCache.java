@@ -0,0 +1,94 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.event.UnreadCountChangedEvent;
+import com.pjy008008.j_community.event.UserWithdrawnEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+// 사용자별 안 읽은 알림 수. 처음 조회할 때만 DB에서 세고, 이후에는 커밋된 알림 저장/읽음 처리 이벤트로 증감한다.
+// 센 값을 채우는 사이에 변경 이벤트가 오면 그 값이 변경 전/후 어느 쪽인지 알 수 없으므로 캐시하지 않고 다음 조회 때 다시 센다.
+@Component
+public class UnreadCountCache {
+
+    private final int maxUsers;
+    private final Map<Long, Entry> users;
+
+    public UnreadCountCache(@Value("${notification.unread-cache.max-users}") int maxUsers) {
+        this.maxUsers = maxUsers;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > UnreadCountCache.this.maxUsers;
+            }
+        };
+    }
+
+    public int get(Long recipientId, IntSupplier loader) {
+        Entry entry;
+        synchronized (this) {
+            entry = users.get(recipientId);
+            if (entry != null && entry.loaded) {
+                return entry.count;
+            }
+            if (entry == null) {
+                entry = new Entry();
+                users.put(recipientId, entry);
+            }
+        }
+
+        // DB 조회는 락 밖에서 한다
+        int count = loader.getAsInt();
+        synchronized (this) {
+            if (users.get(recipientId) == entry) {
+                if (entry.stale) {
+                    users.remove(recipientId);
+                } else if (!entry.loaded) {
+                    entry.count = count;
+                    entry.loaded = true;
+                }
+            }
+        }
+        return count;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        Entry entry = users.get(event.recipientId());
+        if (entry == null) {
+            return;
+        }
+        if (event.reset()) {
+            users.remove(event.recipientId());
+        } else if (entry.loaded) {
+            entry.count = Math.max(0, entry.count + event.delta());
+        } else {
+            entry.stale = true;
+        }
+    }
+
+    // 탈퇴한 회원이 보낸 알림은 탈퇴 트랜잭션에서 함께 지우고, 누구의 수가 줄었는지는 모르므로 전부 다시 센다
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserWithdrawn(UserWithdrawnEvent event) {
+        users.clear();
+    }
+
+    // 보관 기한이 지난 안 읽은 알림이 일괄 삭제된 뒤처럼 어느 사용자의 수가 바뀌었는지 모를 때 전부 다시 센다
+    public synchronized void invalidateAll() {
+        users.clear();
+    }
+
+    public synchronized int cachedUsers() {
+        return users.size();
+    }
+
+    private static final class Entry {
+        private int count;
+        private boolean loaded;
+        private boolean stale;
+    }
+}
@@ -0,0 +1,164 @@
+package com.pjy008008.j_community.cache;
+
+import com.pjy008008.j_community.controller.dto.VoteStateCacheStats;
+import com.pjy008008.j_community.event.CommentVotedEvent;
+import com.pjy008008.j_community.event.PostVotedEvent;
+import com.pjy008008.j_community.event.UserWithdrawnEvent;
+import com.pjy008008.j_community.model.VoteType;
+import com.pjy008008.j_community.support.LongByteHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// 사용자별 투표 상태(myVote) 캐시. 게시글/댓글 id → 투표 상태를 primitive 맵에 담아 박싱된 엔트리 없이 보관한다.
+// 처음 보는 id만 DB에서 읽어 채우고(투표하지 않았다는 사실도 저장), 이후에는 투표 이벤트로 갱신한다.
+@Component
+public class VoteStateCache {
+
+    private static final byte NONE = 0;
+    private static final VoteType[] VOTE_TYPES = VoteType.values();
+
+    private final int maxUsers;
+    private final int maxEntriesPerUser;
+
+    private final Map<String, UserVotes> users;
+
+    public VoteStateCache(
+            @Value("${vote.state-cache.max-users}") int maxUsers,
+            @Value("${vote.state-cache.max-entries-per-user}") int maxEntriesPerUser
+    ) {
+        this.maxUsers = maxUsers;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserVotes> eldest) {
+                return size() > VoteStateCache.this.maxUsers;
+            }
+        };
+    }
+
+    // loader는 캐시에 없는 id만 받아 실제 투표가 있는 것만 돌려준다
+    public Map<Long, VoteType> postVotes(String username, Collection<Long> postIds,
+                                         Function<List<Long>, Map<Long, VoteType>> loader) {
+        return lookup(userVotes(username).posts, postIds, loader);
+    }
+
+    public Map<Long, VoteType> commentVotes(String username, Collection<Long> commentIds,
+                                            Function<List<Long>, Map<Long, VoteType>> loader) {
+        return lookup(userVotes(username).comments, commentIds, loader);
+    }
+
+    @TransactionalEventListener
+    public void onPostVoted(PostVotedEvent event) {
+        UserVotes votes = cachedUserVotes(event.username());
+        if (votes != null) {
+            store(votes.posts, event.postId(), encode(event.myVote()), true);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCommentVoted(CommentVotedEvent event) {
+        UserVotes votes = cachedUserVotes(event.username());
+        if (votes != null) {
+            store(votes.comments, event.commentId(), encode(event.myVote()), true);
+        }
+    }
+
+    // 같은 이름으로 다시 가입한 사용자가 이전 투표 상태를 보지 않도록 탈퇴한 사용자의 항목만 지운다.
+    // 다른 사용자가 탈퇴자의 글/댓글에 한 투표 상태는 그 id가 다시 쓰이지 않으므로 남겨 둔다
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserWithdrawn(UserWithdrawnEvent event) {
+        users.remove(event.username());
+    }
+
+    // 캐시된 사용자 수와 primitive 맵 배열 기준의 대략적인 힙 사용량
+    public synchronized VoteStateCacheStats stats() {
+        long bytes = 0;
+        for (UserVotes votes : users.values()) {
+            bytes += votes.sizeInBytes();
+        }
+        int cachedUsers = users.size();
+        return new VoteStateCacheStats(cachedUsers, maxUsers, bytes, (cachedUsers > 0) ? bytes / cachedUsers : 0);
+    }
+
+    private Map<Long, VoteType> lookup(LongByteHashMap map, Collection<Long> ids,
+                                       Function<List<Long>, Map<Long, VoteType>> loader) {
+        Map<Long, VoteType> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        synchronized (map) {
+            for (Long id : ids) {
+                byte state = map.get(id);
+                if (state == LongByteHashMap.MISSING) {
+                    missing.add(id);
+                } else if (state != NONE) {
+                    result.put(id, decode(state));
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        // DB 조회는 락 밖에서 하고, 그 사이 투표 이벤트가 먼저 넣은 값은 덮어쓰지 않는다
+        Map<Long, VoteType> loaded = loader.apply(missing);
+        synchronized (map) {
+            for (Long id : missing) {
+                byte state = store(map, id, encode(loaded.get(id)), false);
+                if (state != NONE) {
+                    result.put(id, decode(state));
+                }
+            }
+        }
+        return result;
+    }
+
+    // 실제로 저장된(또는 이미 있던) 상태를 반환한다
+    private byte store(LongByteHashMap map, long id, byte state, boolean overwrite) {
+        synchronized (map) {
+            if (map.size() >= maxEntriesPerUser && !map.containsKey(id)) {
+                map.clear();
+            }
+            byte previous = overwrite ? map.put(id, state) : map.putIfAbsent(id, state);
+            return (overwrite || previous == LongByteHashMap.MISSING) ? state : previous;
+        }
+    }
+
+    private synchronized UserVotes userVotes(String username) {
+        return users.computeIfAbsent(username, key -> new UserVotes());
+    }
+
+    // 캐시에 없는 사용자의 투표는 다음 조회 때 DB에서 읽으면 되므로 새로 만들지 않는다
+    private synchronized UserVotes cachedUserVotes(String username) {
+        return users.get(username);
+    }
+
+    private static byte encode(VoteType voteType) {
+        return (voteType == null) ? NONE : (byte) (voteType.ordinal() + 1);
+    }
+
+    private static VoteType decode(byte state) {
+        return VOTE_TYPES[state - 1];
+    }
+
+    private static final class UserVotes {
+
+        private final LongByteHashMap posts = new LongByteHashMap();
+        private final LongByteHashMap comments = new LongByteHashMap();
+
+        long sizeInBytes() {
+            synchronized (posts) {
+                synchronized (comments) {
+                    return posts.sizeInBytes() + comments.sizeInBytes();
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.pjy008008.j_community.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,6 +45,10 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // 스트리밍 응답의 async 재디스패치는 최초 요청에서 이미 인가를 통과했다 (JWT 필터는 재실행되지 않음)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(HttpMethod.DELETE, "/api/auth/withdraw").authenticated()
+                        .requestMatchers(HttpMethod.PUT, "/api/auth/password").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers(swaggerPaths).permitAll()
@@ -54,12 +59,15 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/posts/*/upvote").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/posts/*/downvote").authenticated()
 
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
                         .requestMatchers(HttpMethod.GET, "/api/communities/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/communities").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/communities/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/communities/**").hasRole("ADMIN")
 
                         .requestMatchers(HttpMethod.GET, "/api/posts/{postId}/comments").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/comments/{commentId}/replies").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/posts/{postId}/comments").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/comments/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/comments/**").authenticated()
@@ -67,9 +75,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/comments/*/upvote").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/comments/*/downvote").authenticated()
 
+                        .requestMatchers(HttpMethod.GET, "/api/search").permitAll()
+
+                        .requestMatchers(HttpMethod.POST, "/api/votes/batch").authenticated()
+
                         .requestMatchers("/api/notifications/**").authenticated()
 
-                        .requestMatchers(HttpMethod.DELETE, "/api/auth/withdraw").authenticated()
                         .requestMatchers("/api/users/**").authenticated()
                         .anyRequest().authenticated()
                 )
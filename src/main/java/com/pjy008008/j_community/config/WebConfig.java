@@ -1,6 +1,9 @@
 package com.pjy008008.j_community.config;
 
+import com.pjy008008.j_community.model.CommentSort;
+import com.pjy008008.j_community.model.FeedSort;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -16,4 +19,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, FeedSort.class, FeedSort::fromString);
+        registry.addConverter(String.class, CommentSort.class, CommentSort::fromString);
+    }
 }
\ No newline at end of file
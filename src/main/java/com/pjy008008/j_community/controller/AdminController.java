@@ -0,0 +1,93 @@
+package com.pjy008008.j_community.controller;
+
+import com.pjy008008.j_community.cache.VoteStateCache;
+import com.pjy008008.j_community.controller.dto.ErrorResponse;
+import com.pjy008008.j_community.controller.dto.NotificationPipelineStats;
+import com.pjy008008.j_community.controller.dto.NotificationRetentionStats;
+import com.pjy008008.j_community.controller.dto.VoteStateCacheStats;
+import com.pjy008008.j_community.service.CommunityExportService;
+import com.pjy008008.j_community.service.NotificationDispatcher;
+import com.pjy008008.j_community.service.NotificationRetentionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin API", description = "관리자 전용 API")
+public class AdminController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final CommunityExportService communityExportService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationRetentionService notificationRetentionService;
+    private final VoteStateCache voteStateCache;
+
+    @Operation(summary = "커뮤니티 내보내기 (관리자 전용)", description = "커뮤니티 정보, 게시글, 댓글을 한 줄에 하나씩 NDJSON으로 스트리밍합니다. gzip=true면 gzip으로 압축합니다. (ADMIN 권한 필요)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "내보내기 시작"),
+            @ApiResponse(responseCode = "403", description = "권한 없음"),
+            @ApiResponse(responseCode = "404", description = "커뮤니티를 찾을 수 없음",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/communities/{communityName}/export")
+    public ResponseEntity<StreamingResponseBody> exportCommunity(
+            @PathVariable("communityName") String communityName,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        Long communityId = communityExportService.findCommunityId(communityName);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                communityExportService.export(communityId, gzipOut);
+                gzipOut.finish();
+            } else {
+                communityExportService.export(communityId, out);
+            }
+        };
+
+        String filename = communityName + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename, StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @Operation(summary = "알림 파이프라인 상태 (관리자 전용)", description = "알림 저장 큐의 현재 적재량과 누적 처리/직접 저장(backpressure)/실패 건수를 조회합니다. (ADMIN 권한 필요)")
+    @GetMapping("/notifications/pipeline")
+    public ResponseEntity<NotificationPipelineStats> getNotificationPipelineStats() {
+        return ResponseEntity.ok(notificationDispatcher.stats());
+    }
+
+    @Operation(summary = "알림 보관 기한 정리 상태 (관리자 전용)", description = "보관 기한이 지나 삭제된 읽은/안 읽은 알림 수와 배치당 소요 시간을 조회합니다. (ADMIN 권한 필요)")
+    @GetMapping("/notifications/retention")
+    public ResponseEntity<NotificationRetentionStats> getNotificationRetentionStats() {
+        return ResponseEntity.ok(notificationRetentionService.stats());
+    }
+
+    @Operation(summary = "투표 상태 캐시 크기 (관리자 전용)", description = "투표 상태(myVote) 캐시에 올라온 사용자 수와 추정 힙 사용량, 사용자당 평균을 조회합니다. (ADMIN 권한 필요)")
+    @GetMapping("/cache/vote-state")
+    public ResponseEntity<VoteStateCacheStats> getVoteStateCacheStats() {
+        return ResponseEntity.ok(voteStateCache.stats());
+    }
+}
@@ -2,15 +2,18 @@ package com.pjy008008.j_community.controller;
 
 import com.pjy008008.j_community.controller.dto.*;
 import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.event.UserWithdrawnEvent;
 import com.pjy008008.j_community.model.Role;
 import com.pjy008008.j_community.repository.UserRepository;
-import com.pjy008008.j_community.security.JwtUtil;
+import com.pjy008008.j_community.service.AuthTokenService;
+import com.pjy008008.j_community.service.TimelineService;
+import com.pjy008008.j_community.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -35,9 +38,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
+    private final AuthTokenService authTokenService;
+    private final TimelineService timelineService;
+    private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Operation(summary = "회원가입", description = "신규 사용자의 사용자명, 비밀번호, 이메일을 받아 등록합니다.")
     @ApiResponses(value = {
@@ -67,7 +73,7 @@ public class AuthController {
         return new ResponseEntity<>("User registered successfully!", HttpStatus.CREATED);
     }
 
-    @Operation(summary = "로그인", description = "사용자 아이디와 비밀번호로 인증 후 JWT 토큰을 발급합니다.")
+    @Operation(summary = "로그인", description = "사용자 아이디와 비밀번호로 인증 후 짧은 수명의 JWT 액세스 토큰과 리프레시 토큰을 발급합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "로그인 성공", content = @Content(schema = @Schema(implementation = AuthResponse.class))),
             @ApiResponse(responseCode = "401", description = "인증 실패", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
@@ -85,11 +91,51 @@ public class AuthController {
                 loginRequest.password()
         );
 
-        Authentication authentication = authenticationManager.authenticate(authToken);
+        authenticationManager.authenticate(authToken);
 
-        String jwt = jwtUtil.generateToken(authentication.getName());
+        return ResponseEntity.ok(authTokenService.issue(user));
+    }
+
+    @Operation(summary = "토큰 갱신", description = "리프레시 토큰으로 새 액세스 토큰과 리프레시 토큰을 발급합니다. 사용한 리프레시 토큰은 폐기되며, 이미 사용한 토큰이 다시 오면 해당 로그인의 토큰을 모두 폐기합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "갱신 성공", content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+            @ApiResponse(responseCode = "401", description = "유효하지 않거나 만료/재사용된 리프레시 토큰", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authTokenService.refresh(request.refreshToken()));
+    }
+
+    @Operation(summary = "로그아웃", description = "리프레시 토큰을 폐기합니다. 이미 발급된 액세스 토큰은 수명이 끝나면 만료됩니다.")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authTokenService.logout(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "비밀번호 변경", description = "현재 비밀번호를 확인한 후 변경합니다. 기존에 발급된 모든 토큰은 폐기되고 새 토큰을 발급합니다. (인증 필요)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "변경 성공", content = @Content(schema = @Schema(implementation = AuthResponse.class))),
+            @ApiResponse(responseCode = "400", description = "입력값 유효성 검사 실패", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "비밀번호 불일치 또는 인증 실패", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/password")
+    public ResponseEntity<AuthResponse> changePassword(
+            @Valid @RequestBody PasswordChangeRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
+            throw new AuthenticationException("Invalid password") {};
+        }
+
+        user.changePassword(passwordEncoder.encode(request.newPassword()));
+        userRepository.save(user);
+        authTokenService.revokeAll(user.getId());
 
-        return ResponseEntity.ok(new AuthResponse(jwt));
+        return ResponseEntity.ok(authTokenService.issue(user));
     }
 
     @Operation(summary = "회원 탈퇴", description = "비밀번호를 확인한 후 사용자와 연관된 모든 데이터를 삭제합니다. (인증 필요)")
@@ -111,7 +157,10 @@ public class AuthController {
             throw new AuthenticationException("Invalid password") {};
         }
 
-        userRepository.delete(user);
+        userService.withdraw(user);
+        authTokenService.revokeAll(user.getId());
+        timelineService.removeUser(user.getId());
+        eventPublisher.publishEvent(new UserWithdrawnEvent(user.getId(), username));
 
         return ResponseEntity.noContent().build();
     }
@@ -3,9 +3,12 @@ package com.pjy008008.j_community.controller;
 import com.pjy008008.j_community.controller.dto.CommentCreateRequest;
 import com.pjy008008.j_community.controller.dto.CommentResponse;
 import com.pjy008008.j_community.controller.dto.CommentUpdateRequest;
+import com.pjy008008.j_community.controller.dto.CursorResponse;
 import com.pjy008008.j_community.controller.dto.ErrorResponse;
+import com.pjy008008.j_community.model.CommentSort;
 import com.pjy008008.j_community.model.VoteType;
 import com.pjy008008.j_community.service.CommentService;
+import com.pjy008008.j_community.support.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,8 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
@@ -31,18 +33,56 @@ public class CommentController {
 
     private final CommentService commentService;
 
-    @Operation(summary = "게시글의 댓글 전체 조회", description = "특정 게시글의 모든 댓글과 대댓글을 조회합니다. (로그인 시 본인 투표 상태 포함)")
+    @Operation(summary = "게시글의 댓글 조회 (커서)", description = "최상위 댓글을 size개씩 조회하고, 각 댓글 아래 답글을 depth 단계까지, 댓글마다 replies개까지 포함합니다. (로그인 시 본인 투표 상태 포함) sort=old(기본, 작성순)|new|best(Wilson 점수)|top(득표순)|controversial. 응답의 nextCursor로 다음 최상위 댓글을, 각 댓글의 moreReplies로 남은 답글(GET /api/comments/{commentId}/replies?cursor=)을 이어서 조회합니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping("/posts/{postId}/comments")
-    public ResponseEntity<List<CommentResponse>> getCommentsByPost(
+    public ResponseEntity<CursorResponse<CommentResponse>> getCommentsByPost(
             @PathVariable("postId") Long postId,
-            @AuthenticationPrincipal UserDetails userDetails
+            @RequestParam(value = "sort", defaultValue = "old") CommentSort sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "depth", defaultValue = "5") int depth,
+            @RequestParam(value = "replies", defaultValue = "10") int replies,
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest
     ) {
         String username = (userDetails != null) ? userDetails.getUsername() : null;
+        String eTag = commentService.commentsETag(postId, sort, cursor, size, depth, replies, username);
+        if (ConditionalRequests.notModified(webRequest, eTag)) {
+            return null;
+        }
 
-        List<CommentResponse> comments = commentService.getCommentsByPost(postId, username);
+        CursorResponse<CommentResponse> comments = commentService.getCommentsByPost(
+                postId, sort, cursor, size, depth, replies, username);
         return ResponseEntity.ok(comments);
     }
 
+    @Operation(summary = "답글 이어서 조회 (커서)", description = "댓글의 moreReplies 커서로 남은 답글(답글 더 보기) 또는 깊이 제한에 걸린 스레드(스레드 이어 보기)를 조회합니다. cursor가 없으면 첫 답글부터 조회하며, cursor가 있으면 cursor에 담긴 정렬을 따릅니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "댓글을 찾을 수 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/comments/{commentId}/replies")
+    public ResponseEntity<CursorResponse<CommentResponse>> getReplies(
+            @PathVariable("commentId") Long commentId,
+            @RequestParam(value = "sort", defaultValue = "old") CommentSort sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "depth", defaultValue = "5") int depth,
+            @RequestParam(value = "replies", defaultValue = "10") int replies,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        String username = (userDetails != null) ? userDetails.getUsername() : null;
+        CursorResponse<CommentResponse> page = commentService.getReplies(
+                commentId, sort, cursor, size, depth, replies, username);
+        return ResponseEntity.ok(page);
+    }
+
     @Operation(summary = "최상위 댓글 작성", description = "특정 게시글에 새 댓글을 작성합니다. (인증 필요)")
     @PostMapping("/posts/{postId}/comments")
     public ResponseEntity<CommentResponse> createTopLevelComment(
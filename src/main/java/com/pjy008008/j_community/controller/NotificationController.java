@@ -1,16 +1,24 @@
 package com.pjy008008.j_community.controller;
 
+import com.pjy008008.j_community.controller.dto.CursorResponse;
+import com.pjy008008.j_community.controller.dto.ErrorResponse;
 import com.pjy008008.j_community.controller.dto.NotificationResponse;
 import com.pjy008008.j_community.service.NotificationService;
+import com.pjy008008.j_community.service.NotificationStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -19,20 +27,49 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamHub notificationStreamHub;
 
-    @Operation(summary = "내 알림 목록 조회", description = "로그인한 사용자의 모든 알림을 최신순으로 조회합니다.")
+    @Operation(summary = "내 알림 목록 조회 (커서)", description = "로그인한 사용자의 알림을 최신순으로 조회합니다. 첫 페이지는 cursor 없이 요청하고, 응답의 nextCursor로 다음 페이지를 요청합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping
-    public ResponseEntity<List<NotificationResponse>> getMyNotifications(
+    public ResponseEntity<CursorResponse<NotificationResponse>> getMyNotifications(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
             @AuthenticationPrincipal UserDetails userDetails
     ) {
-        List<NotificationResponse> notifications = notificationService.getMyNotifications(userDetails.getUsername());
+        CursorResponse<NotificationResponse> notifications =
+                notificationService.getMyNotifications(userDetails.getUsername(), cursor, size);
         return ResponseEntity.ok(notifications);
     }
 
-    @Operation(summary = "알림 읽음 처리", description = "특정 알림을 읽음 상태로 변경합니다.")
+    @Operation(summary = "알림 실시간 구독 (SSE)", description = "새 알림과 합쳐진 알림의 변경을 notification 이벤트로 받습니다. 연결이 끊기면 Last-Event-ID 헤더로 재연결해 놓친 알림부터 이어 받고, 놓친 알림이 너무 많으면 resync 이벤트가 오므로 목록을 다시 조회합니다.")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return notificationStreamHub.connect(userDetails.getUsername(), lastEventId);
+    }
+
+    @Operation(summary = "안 읽은 알림 수 조회", description = "알림 뱃지에 표시할 안 읽은 알림 수를 조회합니다. 알림 행을 세지 않고 사용자별 카운터에서 반환합니다.")
+    @GetMapping("/unread-count")
+    public ResponseEntity<Integer> getUnreadCount(
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        int count = notificationService.getUnreadCount(userDetails.getUsername());
+        return ResponseEntity.ok(count);
+    }
+
+    @Operation(summary = "알림 읽음 처리", description = "내 알림 하나를 읽음 상태로 변경합니다.")
     @PostMapping("/{id}/read")
-    public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
-        notificationService.markAsRead(id);
+    public ResponseEntity<Void> markAsRead(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        notificationService.markAsRead(id, userDetails.getUsername());
         return ResponseEntity.ok().build();
     }
 
@@ -1,17 +1,21 @@
 package com.pjy008008.j_community.controller;
 
+import com.pjy008008.j_community.controller.dto.CursorResponse;
 import com.pjy008008.j_community.controller.dto.ErrorResponse;
 import com.pjy008008.j_community.controller.dto.PostCreateRequest;
 import com.pjy008008.j_community.controller.dto.PostResponse;
 import com.pjy008008.j_community.controller.dto.PostUpdateRequest;
+import com.pjy008008.j_community.model.FeedSort;
 import com.pjy008008.j_community.model.VoteType;
 import com.pjy008008.j_community.service.PostService;
+import com.pjy008008.j_community.support.ConditionalRequests;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
@@ -23,6 +27,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -42,27 +47,97 @@ public class PostController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "전체 게시글 조회", description = "게시글을 페이징하여 조회합니다. sort=hotRank,desc로 인기순 정렬할 수 있습니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
     @GetMapping
     public ResponseEntity<Page<PostResponse>> getAllPosts(
             @ParameterObject @PageableDefault(size = 10, sort = "createdAt,desc") Pageable pageable,
-            @AuthenticationPrincipal UserDetails userDetails // 추가
+            @AuthenticationPrincipal UserDetails userDetails, // 추가
+            WebRequest webRequest
     ) {
         String username = (userDetails != null) ? userDetails.getUsername() : null;
+        if (ConditionalRequests.notModified(webRequest, postService.postsETag(null, pageable, username))) {
+            return null;
+        }
         Page<PostResponse> posts = postService.getAllPosts(pageable, username);
         return ResponseEntity.ok(posts);
     }
 
+    @Operation(summary = "커뮤니티 게시글 조회", description = "특정 커뮤니티의 게시글을 페이징하여 조회합니다. sort=hotRank,desc로 인기순 정렬할 수 있습니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
     @GetMapping("/c/{communityName}")
     public ResponseEntity<Page<PostResponse>> getPostsByCommunity(
             @PathVariable("communityName") String communityName,
             @ParameterObject @PageableDefault(size = 10, sort = "createdAt,desc") Pageable pageable,
-            @AuthenticationPrincipal UserDetails userDetails // 추가
+            @AuthenticationPrincipal UserDetails userDetails, // 추가
+            WebRequest webRequest
     ) {
         String username = (userDetails != null) ? userDetails.getUsername() : null;
+        if (ConditionalRequests.notModified(webRequest, postService.postsETag(communityName, pageable, username))) {
+            return null;
+        }
         Page<PostResponse> posts = postService.getPostsByCommunity(communityName, pageable, username);
         return ResponseEntity.ok(posts);
     }
 
+    @Operation(summary = "전체 피드 조회 (커서)", description = "cursor 이후의 게시글을 최신순(new) 또는 인기순(hot)으로 조회합니다. 첫 페이지는 cursor 없이 요청하고, 응답의 nextCursor로 다음 페이지를 요청합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/feed")
+    public ResponseEntity<CursorResponse<PostResponse>> getFeed(
+            @RequestParam(value = "sort", defaultValue = "new") FeedSort sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        String username = (userDetails != null) ? userDetails.getUsername() : null;
+        CursorResponse<PostResponse> feed = postService.getFeed(sort, cursor, size, username);
+        return ResponseEntity.ok(feed);
+    }
+
+    @Operation(summary = "커뮤니티 피드 조회 (커서)", description = "특정 커뮤니티의 게시글을 cursor 기반으로 최신순(new) 또는 인기순(hot) 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "커뮤니티를 찾을 수 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/c/{communityName}/feed")
+    public ResponseEntity<CursorResponse<PostResponse>> getCommunityFeed(
+            @PathVariable("communityName") String communityName,
+            @RequestParam(value = "sort", defaultValue = "new") FeedSort sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        String username = (userDetails != null) ? userDetails.getUsername() : null;
+        CursorResponse<PostResponse> feed = postService.getCommunityFeed(communityName, sort, cursor, size, username);
+        return ResponseEntity.ok(feed);
+    }
+
+    @Operation(summary = "게시글 상세 조회", description = "게시글 하나를 조회하고 조회수를 기록합니다. 조회수/고유 조회자 수는 주기적으로 반영되므로 약간 늦게 갱신됩니다. If-None-Match가 현재 ETag와 같으면 304를 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = PostResponse.class))),
+            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<PostResponse> getPost(
+            @PathVariable("id") Long id,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        String username = (userDetails != null) ? userDetails.getUsername() : null;
+        // 304는 이 게시글에 발급한 ETag와 일치할 때만 나가고(삭제되면 버전이 바뀐다), 200은 게시글을 찾은 뒤에만 기록한다.
+        // 없는 id로 조회해도 조회 기록이 메모리에 쌓이지 않는다
+        if (ConditionalRequests.notModified(webRequest, postService.postETag(id, username))) {
+            postService.recordView(id, username, request.getRemoteAddr());
+            return null;
+        }
+        PostResponse response = postService.getPost(id, username);
+        postService.recordView(id, username, request.getRemoteAddr());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "게시글 수정", description = "자신이 작성한 게시글을 수정합니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "수정 성공", content = @Content(schema = @Schema(implementation = PostResponse.class))),
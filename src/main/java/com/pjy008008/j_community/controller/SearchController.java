@@ -0,0 +1,31 @@
+package com.pjy008008.j_community.controller;
+
+import com.pjy008008.j_community.controller.dto.CursorResponse;
+import com.pjy008008.j_community.controller.dto.SearchHitResponse;
+import com.pjy008008.j_community.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search API", description = "게시글/댓글 검색 API")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Operation(summary = "게시글/댓글 검색", description = "게시글 제목·본문과 댓글 본문을 BM25 관련도순으로 검색합니다. community로 커뮤니티를 한정할 수 있고, 응답의 nextCursor를 cursor로 넘기면 다음 결과를 조회합니다.")
+    @GetMapping
+    public ResponseEntity<CursorResponse<SearchHitResponse>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "community", required = false) String communityName,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        CursorResponse<SearchHitResponse> results = searchService.search(query, communityName, cursor, size);
+        return ResponseEntity.ok(results);
+    }
+}
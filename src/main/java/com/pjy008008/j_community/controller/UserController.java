@@ -1,7 +1,9 @@
 package com.pjy008008.j_community.controller;
 
 import com.pjy008008.j_community.controller.dto.CommunityResponse;
+import com.pjy008008.j_community.controller.dto.CursorResponse;
 import com.pjy008008.j_community.controller.dto.PostResponse;
+import com.pjy008008.j_community.service.PostService;
 import com.pjy008008.j_community.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -24,6 +26,18 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final PostService postService;
+
+    @Operation(summary = "내 홈 피드 조회", description = "가입한 커뮤니티들의 게시글을 최신순으로 cursor 기반 조회합니다.")
+    @GetMapping("/me/feed")
+    public ResponseEntity<CursorResponse<PostResponse>> getMyFeed(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        CursorResponse<PostResponse> feed = postService.getHomeFeed(userDetails.getUsername(), cursor, size);
+        return ResponseEntity.ok(feed);
+    }
 
     @Operation(summary = "내가 쓴 글 조회", description = "현재 로그인한 사용자가 작성한 게시글을 페이징하여 조회합니다.")
     @GetMapping("/me/posts")
@@ -0,0 +1,34 @@
+package com.pjy008008.j_community.controller;
+
+import com.pjy008008.j_community.controller.dto.VoteBatchRequest;
+import com.pjy008008.j_community.controller.dto.VoteBatchResult;
+import com.pjy008008.j_community.service.VoteBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/votes")
+@RequiredArgsConstructor
+@Tag(name = "Vote API", description = "투표 일괄 처리 API")
+public class VoteController {
+
+    private final VoteBatchService voteBatchService;
+
+    @Operation(summary = "투표 일괄 처리",
+            description = "게시글/댓글 투표 목록을 순서대로 한 번에 적용하고 대상별 최종 점수와 내 투표 상태를 반환합니다. (인증 필요)")
+    @PostMapping("/batch")
+    public ResponseEntity<List<VoteBatchResult>> voteBatch(
+            @Valid @RequestBody VoteBatchRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.ok(voteBatchService.vote(request.votes(), userDetails.getUsername()));
+    }
+}
@@ -1,3 +1,3 @@
 package com.pjy008008.j_community.controller.dto;
 
-public record AuthResponse(String token) {}
+public record AuthResponse(String token, String refreshToken) {}
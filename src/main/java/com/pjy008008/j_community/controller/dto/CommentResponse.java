@@ -2,6 +2,7 @@ package com.pjy008008.j_community.controller.dto;
 
 import com.pjy008008.j_community.entity.Comment;
 import com.pjy008008.j_community.model.VoteType;
+import com.pjy008008.j_community.repository.CommentRow;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -16,7 +17,9 @@ public record CommentResponse(
         int votes,
         VoteType myVote,
         LocalDateTime createdAt,
-        List<CommentResponse> replies
+        int replyCount,
+        List<CommentResponse> replies,
+        String moreReplies
 ) {
     public static CommentResponse from(Comment comment) {
         return from(comment, Collections.emptyMap());
@@ -36,7 +39,24 @@ public record CommentResponse(
                 comment.getVotes(),
                 myVote,
                 comment.getCreatedAt(),
-                replyDtos
+                comment.getReplyCount(),
+                replyDtos,
+                null
         );
     }
-}
\ No newline at end of file
+
+    // 평면 조회 결과로 조립할 때 사용 (연관관계를 거치지 않는다). moreReplies는 남은 답글을 이어 읽는 커서
+    public static CommentResponse of(CommentRow row, VoteType myVote, List<CommentResponse> replies, String moreReplies) {
+        return new CommentResponse(
+                row.id(),
+                row.author(),
+                row.content(),
+                row.votes(),
+                myVote,
+                row.createdAt(),
+                row.replyCount(),
+                replies,
+                moreReplies
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package com.pjy008008.j_community.controller.dto;
+
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.entity.Community;
+import com.pjy008008.j_community.entity.Post;
+
+import java.time.LocalDateTime;
+
+// 커뮤니티 내보내기(NDJSON)의 한 줄. type으로 community / post / comment를 구분한다.
+public sealed interface CommunityExportLine {
+
+    String type();
+
+    record CommunityLine(
+            String type,
+            Long id,
+            String name,
+            String description,
+            String colorTheme,
+            LocalDateTime createdAt
+    ) implements CommunityExportLine {
+        public static CommunityLine from(Community community) {
+            return new CommunityLine(
+                    "community",
+                    community.getId(),
+                    community.getName(),
+                    community.getDescription(),
+                    community.getColorTheme().name(),
+                    community.getCreatedAt()
+            );
+        }
+    }
+
+    record PostLine(
+            String type,
+            Long id,
+            String title,
+            String content,
+            String author,
+            int votes,
+            int commentCount,
+            long viewCount,
+            LocalDateTime createdAt
+    ) implements CommunityExportLine {
+        public static PostLine from(Post post) {
+            return new PostLine(
+                    "post",
+                    post.getId(),
+                    post.getTitle(),
+                    post.getContent(),
+                    post.getAuthor().getUsername(),
+                    post.getVotes(),
+                    post.getCommentCount(),
+                    post.getViewCount(),
+                    post.getCreatedAt()
+            );
+        }
+    }
+
+    record CommentLine(
+            String type,
+            Long id,
+            Long postId,
+            Long parentId,
+            String content,
+            String author,
+            int votes,
+            LocalDateTime createdAt
+    ) implements CommunityExportLine {
+        public static CommentLine from(Comment comment) {
+            return new CommentLine(
+                    "comment",
+                    comment.getId(),
+                    comment.getPost().getId(),
+                    (comment.getParent() != null) ? comment.getParent().getId() : null,
+                    comment.getContent(),
+                    comment.getAuthor().getUsername(),
+                    comment.getVotes(),
+                    comment.getCreatedAt()
+            );
+        }
+    }
+}
@@ -22,8 +22,8 @@ public record CommunityResponse(
                 community.getColorTheme().getCssClass(),
                 community.getCreator().getUsername(),
                 community.getCreatedAt(),
-                community.getPosts().size(),
-                community.getMembers().size()
+                community.getPostCount(),
+                community.getMemberCount()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.pjy008008.j_community.controller.dto;
+
+import java.util.List;
+
+public record CursorResponse<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {}
@@ -0,0 +1,12 @@
+package com.pjy008008.j_community.controller.dto;
+
+// 알림 저장 파이프라인 상태. 누적 값은 프로세스 시작 이후 기준
+public record NotificationPipelineStats(
+        int queued,
+        int capacity,
+        long enqueued,
+        long written,
+        long batches,
+        long callerRuns,
+        long failed
+) {}
@@ -3,6 +3,9 @@ package com.pjy008008.j_community.controller.dto;
 import com.pjy008008.j_community.entity.Notification;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public record NotificationResponse(
         Long id,
@@ -12,20 +15,34 @@ public record NotificationResponse(
         String action,
         String content,
         String time,
-        boolean read
+        boolean read,
+        int actorCount,
+        List<String> latestActors
 ) {
     public static NotificationResponse from(Notification notification) {
         String username = notification.getActor().getUsername();
+        return of(notification, Map.of(notification.getActor().getId(), username));
+    }
+
+    // 최근 행위자 이름을 별도로 일괄 조회한 경우 연관관계를 거치지 않고 생성 (user는 가장 최근 행위자)
+    public static NotificationResponse of(Notification notification, Map<Long, String> usernames) {
+        List<String> latestActors = notification.getLatestActorIdList().stream()
+                .map(usernames::get)
+                .filter(Objects::nonNull)
+                .toList();
+        String username = latestActors.isEmpty() ? "(알 수 없음)" : latestActors.getFirst();
 
         return new NotificationResponse(
                 notification.getId(),
                 notification.getType().name().toLowerCase().split("_")[0],
                 username,
                 username.substring(0, 1),
-                notification.getType().getActionText(),
+                notification.getType().getActionText(notification.getActorCount()),
                 notification.getContent(),
                 formatTimeAgo(notification.getCreatedAt()),
-                notification.isRead()
+                notification.isRead(),
+                notification.getActorCount(),
+                latestActors
         );
     }
 
@@ -0,0 +1,13 @@
+package com.pjy008008.j_community.controller.dto;
+
+// 알림 보관 기한 정리 작업 상태. 누적 값은 프로세스 시작 이후 기준
+public record NotificationRetentionStats(
+        long runs,
+        long batches,
+        long purgedRead,
+        long purgedUnread,
+        long lastRunPurged,
+        long lastRunMillis,
+        double avgBatchMillis,
+        long maxBatchMillis
+) {}
@@ -0,0 +1,15 @@
+package com.pjy008008.j_community.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record PasswordChangeRequest(
+        @NotBlank(message = "현재 비밀번호를 입력해주세요.")
+        String currentPassword,
+
+        @Schema(example = "password")
+        @NotBlank(message = "새 비밀번호는 필수입니다.")
+        @Size(min = 6, message = "비밀번호는 6자 이상이어야 합니다.")
+        String newPassword
+) {}
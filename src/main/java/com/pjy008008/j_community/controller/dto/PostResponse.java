@@ -1,5 +1,7 @@
 package com.pjy008008.j_community.controller.dto;
+import com.pjy008008.j_community.entity.Community;
 import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.entity.User;
 import com.pjy008008.j_community.model.VoteType;
 
 import java.time.LocalDateTime;
@@ -15,25 +17,49 @@ public record PostResponse(
         int votes,
         VoteType myVote,
         int commentCount,
+        long viewCount,
+        long uniqueViewers,
         LocalDateTime createdAt
 ) {
     public static PostResponse from(Post post, VoteType myVote) {
-        String username = post.getAuthor().getUsername();
+        return of(post, post.getAuthor(), post.getCommunity(), myVote);
+    }
+
+    // 작성자/커뮤니티를 별도로 일괄 조회한 경우 연관관계를 거치지 않고 생성
+    public static PostResponse of(Post post, User author, Community community, VoteType myVote) {
+        String username = author.getUsername();
         return new PostResponse(
                 post.getId(),
                 post.getTitle(),
                 post.getContent(),
                 username,
                 username.substring(0, 1),
-                post.getCommunity().getName(),
-                post.getCommunity().getColorTheme().getCssClass(),
+                community.getName(),
+                community.getColorTheme().getCssClass(),
                 post.getVotes(),
                 myVote,
-                post.getComments().size(),
+                post.getCommentCount(),
+                post.getViewCount(),
+                post.getUniqueViewers(),
                 post.getCreatedAt()
         );
     }
     public static PostResponse from(Post post) {
         return from(post, null);
     }
+
+    public PostResponse withMyVote(VoteType myVote) {
+        return new PostResponse(id, title, content, author, authorInitial, community, communityColor,
+                votes, myVote, commentCount, viewCount, uniqueViewers, createdAt);
+    }
+
+    public PostResponse withVotes(int votes) {
+        return new PostResponse(id, title, content, author, authorInitial, community, communityColor,
+                votes, myVote, commentCount, viewCount, uniqueViewers, createdAt);
+    }
+
+    public PostResponse withCommentCount(int commentCount) {
+        return new PostResponse(id, title, content, author, authorInitial, community, communityColor,
+                votes, myVote, commentCount, viewCount, uniqueViewers, createdAt);
+    }
 }
@@ -0,0 +1,8 @@
+package com.pjy008008.j_community.controller.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @NotBlank(message = "리프레시 토큰은 필수입니다.")
+        String refreshToken
+) {}
@@ -0,0 +1,60 @@
+package com.pjy008008.j_community.controller.dto;
+
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.model.SearchHitType;
+
+import java.time.LocalDateTime;
+
+public record SearchHitResponse(
+        SearchHitType type,
+        Long postId,
+        Long commentId,
+        String title,
+        String snippet,
+        String author,
+        String community,
+        int votes,
+        LocalDateTime createdAt,
+        float score
+) {
+    private static final int SNIPPET_LENGTH = 200;
+
+    public static SearchHitResponse of(Post post, float score) {
+        return new SearchHitResponse(
+                SearchHitType.POST,
+                post.getId(),
+                null,
+                post.getTitle(),
+                snippet(post.getContent()),
+                post.getAuthor().getUsername(),
+                post.getCommunity().getName(),
+                post.getVotes(),
+                post.getCreatedAt(),
+                score
+        );
+    }
+
+    public static SearchHitResponse of(Comment comment, float score) {
+        Post post = comment.getPost();
+        return new SearchHitResponse(
+                SearchHitType.COMMENT,
+                post.getId(),
+                comment.getId(),
+                post.getTitle(),
+                snippet(comment.getContent()),
+                comment.getAuthor().getUsername(),
+                post.getCommunity().getName(),
+                comment.getVotes(),
+                comment.getCreatedAt(),
+                score
+        );
+    }
+
+    private static String snippet(String content) {
+        if (content == null || content.length() <= SNIPPET_LENGTH) {
+            return content;
+        }
+        return content.substring(0, SNIPPET_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,28 @@
+package com.pjy008008.j_community.controller.dto;
+
+import com.pjy008008.j_community.model.VoteTargetType;
+import com.pjy008008.j_community.model.VoteType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record VoteBatchRequest(
+        @NotEmpty(message = "투표 목록은 비어 있을 수 없습니다.")
+        @Size(max = 200, message = "한 번에 최대 200건까지 처리할 수 있습니다.")
+        List<@Valid @NotNull Item> votes
+) {
+    // 오프라인에서 쌓인 순서대로 적용된다
+    public record Item(
+            @NotNull(message = "투표 대상 종류는 필수입니다.")
+            VoteTargetType targetType,
+
+            @NotNull(message = "투표 대상 id는 필수입니다.")
+            Long targetId,
+
+            @NotNull(message = "투표 종류는 필수입니다.")
+            VoteType voteType
+    ) {}
+}
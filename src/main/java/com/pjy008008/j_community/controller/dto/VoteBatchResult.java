@@ -0,0 +1,11 @@
+package com.pjy008008.j_community.controller.dto;
+
+import com.pjy008008.j_community.model.VoteTargetType;
+import com.pjy008008.j_community.model.VoteType;
+
+public record VoteBatchResult(
+        VoteTargetType targetType,
+        Long targetId,
+        int votes,
+        VoteType myVote
+) {}
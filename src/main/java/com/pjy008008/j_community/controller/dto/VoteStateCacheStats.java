@@ -0,0 +1,9 @@
+package com.pjy008008.j_community.controller.dto;
+
+// 사용자별 투표 상태 캐시의 크기. 바이트 수는 primitive 맵 배열 기준의 추정치
+public record VoteStateCacheStats(
+        int cachedUsers,
+        int maxUsers,
+        long estimatedBytes,
+        long bytesPerUser
+) {}
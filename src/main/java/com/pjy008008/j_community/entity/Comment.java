@@ -1,9 +1,11 @@
 package com.pjy008008.j_community.entity;
 
+import com.pjy008008.j_community.support.CommentPath;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -11,6 +13,13 @@ import java.util.Set;
 @Entity
 @Getter
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_comment_post_parent_created_at_id", columnList = "post_id, parent_id, created_at, id"),
+        @Index(name = "idx_comment_post_parent_best_score_id", columnList = "post_id, parent_id, best_score, id"),
+        @Index(name = "idx_comment_post_parent_votes_id", columnList = "post_id, parent_id, votes, id"),
+        @Index(name = "idx_comment_post_parent_controversy_id", columnList = "post_id, parent_id, controversy, id"),
+        @Index(name = "idx_comment_root_path", columnList = "root_id, path")
+})
 public class Comment extends BaseTimeEntity {
 
     @Id
@@ -24,6 +33,39 @@ public class Comment extends BaseTimeEntity {
     @Column(nullable = false)
     private int votes = 0;
 
+    // 추천/비추천 수와 정렬 키는 투표 시 SQL로 함께 갱신한다 (CommentRanking)
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int upvotes = 0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int downvotes = 0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private double bestScore;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private double controversy;
+
+    // 트리 위치 (CommentPath). id가 정해진 뒤에 채우므로 저장 직후 잠시 비어 있다
+    @Column(length = CommentPath.MAX_LENGTH)
+    private String path;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int depth;
+
+    // 최상위 댓글의 id (최상위 댓글은 자기 자신)
+    private Long rootId;
+
+    // 바로 아래 대댓글 수
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int replyCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User author;
@@ -46,6 +88,13 @@ public class Comment extends BaseTimeEntity {
         this.post = post;
         this.parent = parent;
         this.votes = 0;
+        this.depth = (parent != null) ? parent.getDepth() + 1 : 0;
+    }
+
+    // IDENTITY로 id를 받은 뒤 호출한다
+    public void assignPath() {
+        this.path = CommentPath.of(parent != null ? parent.getPath() : null, id);
+        this.rootId = (parent != null) ? parent.getRootId() : id;
     }
 
     public void update(String content) {
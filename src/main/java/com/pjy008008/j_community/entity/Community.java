@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -12,6 +14,7 @@ import java.util.Set;
 @Entity
 @Getter
 @NoArgsConstructor
+@DynamicUpdate
 public class Community extends BaseTimeEntity {
 
     @Id
@@ -37,6 +40,15 @@ public class Community extends BaseTimeEntity {
     @JoinColumn(name = "creator_id", nullable = false)
     private User creator;
 
+    // 게시글/멤버 수는 PostService, UserService에서 원자적으로 증감하고, CounterReconciliationService가 주기적으로 보정한다
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int postCount = 0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int memberCount = 0;
+
     @Builder
     public Community(String name, String description, ColorTheme colorTheme, User creator) {
         this.name = name;
@@ -5,11 +5,18 @@ import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.Arrays;
+import java.util.List;
 
 @Entity
 @Getter
 @NoArgsConstructor
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_updated_at", columnList = "recipient_id, updated_at"),
+        @Index(name = "idx_notifications_target_created_at", columnList = "target_id, created_at")
+})
 public class Notification extends BaseTimeEntity {
 
     @Id
@@ -33,6 +40,16 @@ public class Notification extends BaseTimeEntity {
     @Column(nullable = false)
     private boolean isRead = false;
 
+    // 알림 대상 (게시글/댓글 id). 같은 대상에 대한 같은 종류의 알림은 묶음 기간 동안 한 행으로 합친다
+    private Long targetId;
+
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    private int actorCount = 1;
+
+    // 최근 행위자 id (최신순, 쉼표 구분). actor는 그중 가장 최근 사람이다
+    private String latestActors;
+
     @Builder
     public Notification(NotificationType type, User recipient, User actor, String content) {
         this.type = type;
@@ -42,6 +59,14 @@ public class Notification extends BaseTimeEntity {
         this.isRead = false;
     }
 
+    // 합치기 전에 저장된 알림은 latestActors가 없으므로 actor 한 명으로 본다
+    public List<Long> getLatestActorIdList() {
+        if (latestActors == null || latestActors.isEmpty()) {
+            return List.of(actor.getId());
+        }
+        return Arrays.stream(latestActors.split(",")).map(Long::valueOf).toList();
+    }
+
     public void markAsRead() {
         this.isRead = true;
     }
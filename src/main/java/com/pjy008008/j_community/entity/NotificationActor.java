@@ -0,0 +1,30 @@
+package com.pjy008008.j_community.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 합쳐진 알림에 참여한 행위자 (중복 없이 센다). latestActors는 최근 3명뿐이라
+// 추천 → 취소 → 다시 추천처럼 같은 사람이 목록에서 밀려난 뒤 다시 와도 actorCount가 늘지 않도록 여기서 확인한다.
+// 알림 보관 기한 삭제를 막지 않도록 FK 없이 id만 저장하고, 보관 기한 삭제가 같은 id 범위에서 함께 지운다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        name = "notification_actors",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"notification_id", "actor_id"})
+        }
+)
+public class NotificationActor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @Column(name = "actor_id", nullable = false)
+    private Long actorId;
+}
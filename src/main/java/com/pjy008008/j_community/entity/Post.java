@@ -1,16 +1,27 @@
 package com.pjy008008.j_community.entity;
 
+import com.pjy008008.j_community.support.HotRank;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Getter
 @NoArgsConstructor
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_post_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_post_community_created_at_id", columnList = "community_id, created_at, id"),
+        @Index(name = "idx_post_hot_rank_id", columnList = "hot_rank, id"),
+        @Index(name = "idx_post_community_hot_rank_id", columnList = "community_id, hot_rank, id")
+})
 public class Post extends BaseTimeEntity {
 
     @Id
@@ -26,6 +37,24 @@ public class Post extends BaseTimeEntity {
 
     private int votes = 0;
 
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private double hotRank;
+
+    // 댓글 수는 CommentService에서 원자적으로 증감하고, CounterReconciliationService가 주기적으로 보정한다
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int commentCount = 0;
+
+    // 조회수는 ViewCountService가 메모리에 모았다가 주기적으로 반영한다
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long viewCount = 0;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long uniqueViewers = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User author;
@@ -52,5 +81,12 @@ public class Post extends BaseTimeEntity {
 
     public void updateVotes(int changeAmount) {
         this.votes += changeAmount;
+        this.hotRank = HotRank.of(this.votes, getCreatedAt());
+    }
+
+    @PrePersist
+    private void initHotRank() {
+        LocalDateTime createdAt = (getCreatedAt() != null) ? getCreatedAt() : LocalDateTime.now();
+        this.hotRank = HotRank.of(this.votes, createdAt);
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.pjy008008.j_community.entity;
+
+import com.pjy008008.j_community.support.HyperLogLog;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 게시글별 고유 조회자 HyperLogLog 레지스터.
+// 글 목록 조회 시 함께 읽히지 않도록 Post와 분리했고, 게시글 삭제 cascade를 막지 않도록 FK 없이 id만 저장한다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "post_view_sketches")
+public class PostViewSketch {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(nullable = false, length = HyperLogLog.REGISTER_COUNT)
+    private byte[] registers;
+}
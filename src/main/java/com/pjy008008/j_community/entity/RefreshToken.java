@@ -0,0 +1,56 @@
+package com.pjy008008.j_community.entity;
+
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 리프레시 토큰. 원문은 클라이언트만 갖고 여기에는 SHA-256 해시만 저장한다.
+// 한 번 쓰면 used가 되고 같은 family로 새 토큰을 발급하므로, 이미 쓴 토큰이 다시 오면 탈취로 보고 family 전체를 폐기한다.
+// 회원 삭제 cascade를 막지 않도록 FK 없이 id만 저장하고, 탈퇴 시 직접 지운다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id")
+        }
+)
+public class RefreshToken extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // 로그인 한 번에서 이어진 토큰들의 묶음 (기기/세션 단위)
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private boolean used = false;
+
+    @Builder
+    public RefreshToken(Long userId, String tokenHash, String familyId, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,41 @@
+package com.pjy008008.j_community.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 사용자별 홈 타임라인 (fan-out-on-write).
+// 게시글/회원 삭제 cascade를 막지 않도록 FK 없이 id만 저장하고, 읽을 때 사라진 게시글은 건너뛴다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        name = "timeline_entries",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"user_id", "post_id"})
+        },
+        indexes = {
+                @Index(name = "idx_timeline_user_created_post", columnList = "user_id, post_created_at, post_id"),
+                @Index(name = "idx_timeline_post", columnList = "post_id")
+        }
+)
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "community_id", nullable = false)
+    private Long communityId;
+
+    @Column(nullable = false)
+    private LocalDateTime postCreatedAt;
+}
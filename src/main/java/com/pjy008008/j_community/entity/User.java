@@ -54,6 +54,10 @@ public class User implements UserDetails {
         this.role = (role != null) ? role : Role.ROLE_USER;
     }
 
+    public void changePassword(String encodedPassword) {
+        this.password = encodedPassword;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority(this.role.name()));
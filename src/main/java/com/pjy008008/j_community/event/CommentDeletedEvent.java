@@ -0,0 +1,5 @@
+package com.pjy008008.j_community.event;
+
+import java.util.List;
+
+public record CommentDeletedEvent(Long postId, List<Long> commentIds) {}
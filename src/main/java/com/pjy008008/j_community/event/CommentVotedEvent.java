@@ -0,0 +1,5 @@
+package com.pjy008008.j_community.event;
+
+import com.pjy008008.j_community.model.VoteType;
+
+public record CommentVotedEvent(Long commentId, Long postId, int votes, String username, VoteType myVote) {}
@@ -0,0 +1,4 @@
+package com.pjy008008.j_community.event;
+
+// 보정 작업이 이벤트 없이 DB의 카운터/정렬 키를 직접 고쳤을 때 발행된다
+public record CountersReconciledEvent() {}
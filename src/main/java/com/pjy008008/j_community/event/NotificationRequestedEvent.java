@@ -0,0 +1,6 @@
+package com.pjy008008.j_community.event;
+
+import com.pjy008008.j_community.model.NotificationType;
+
+// targetId: 알림 대상 (COMMENT/UPVOTE_POST는 게시글, REPLY는 부모 댓글, UPVOTE_COMMENT는 댓글)
+public record NotificationRequestedEvent(NotificationType type, Long recipientId, Long actorId, Long targetId, String content) {}
@@ -0,0 +1,7 @@
+package com.pjy008008.j_community.event;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// 한 배치에서 저장/갱신된 알림. 같은 배치의 행은 모두 updatedAt이 writtenAt이다
+public record NotificationsWrittenEvent(Set<Long> recipientIds, LocalDateTime writtenAt) {}
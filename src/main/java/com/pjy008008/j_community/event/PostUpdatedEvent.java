@@ -0,0 +1,5 @@
+package com.pjy008008.j_community.event;
+
+import com.pjy008008.j_community.controller.dto.PostResponse;
+
+public record PostUpdatedEvent(Long postId, PostResponse post) {}
@@ -0,0 +1,5 @@
+package com.pjy008008.j_community.event;
+
+import java.util.Collection;
+
+public record PostViewsFlushedEvent(Collection<Long> postIds) {}
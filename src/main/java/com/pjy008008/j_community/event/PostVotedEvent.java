@@ -0,0 +1,6 @@
+package com.pjy008008.j_community.event;
+
+import com.pjy008008.j_community.model.VoteType;
+
+// myVote는 투표한 사용자의 최종 상태 (취소했으면 null)
+public record PostVotedEvent(Long postId, int votes, String username, VoteType myVote) {}
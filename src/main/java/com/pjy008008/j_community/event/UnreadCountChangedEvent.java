@@ -0,0 +1,13 @@
+package com.pjy008008.j_community.event;
+
+// 안 읽은 알림 수 변경. reset이면 delta 대신 DB에서 다시 센다 (전체 읽음 처리)
+public record UnreadCountChangedEvent(Long recipientId, int delta, boolean reset) {
+
+    public static UnreadCountChangedEvent delta(Long recipientId, int delta) {
+        return new UnreadCountChangedEvent(recipientId, delta, false);
+    }
+
+    public static UnreadCountChangedEvent reset(Long recipientId) {
+        return new UnreadCountChangedEvent(recipientId, 0, true);
+    }
+}
@@ -0,0 +1,3 @@
+package com.pjy008008.j_community.event;
+
+public record UserWithdrawnEvent(Long userId, String username) {}
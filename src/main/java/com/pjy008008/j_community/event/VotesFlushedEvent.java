@@ -0,0 +1,6 @@
+package com.pjy008008.j_community.event;
+
+import java.util.Collection;
+
+// write-behind 투표 점수가 DB에 반영된 게시글 id와, 점수가 바뀐 댓글이 속한 게시글 id
+public record VotesFlushedEvent(Collection<Long> postIds, Collection<Long> commentPostIds) {}
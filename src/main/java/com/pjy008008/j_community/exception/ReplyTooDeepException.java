@@ -0,0 +1,11 @@
+package com.pjy008008.j_community.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ReplyTooDeepException extends RuntimeException {
+    public ReplyTooDeepException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.pjy008008.j_community.model;
+
+public enum CommentSort {
+    OLD,
+    NEW,
+    BEST,
+    TOP,
+    CONTROVERSIAL;
+
+    public static CommentSort fromString(String value) {
+        try {
+            return CommentSort.valueOf(value.trim().toUpperCase());
+        } catch (Exception e) {
+            throw new IllegalArgumentException(value + " is not a valid CommentSort");
+        }
+    }
+}
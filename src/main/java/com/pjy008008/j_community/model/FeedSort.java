@@ -0,0 +1,14 @@
+package com.pjy008008.j_community.model;
+
+public enum FeedSort {
+    NEW,
+    HOT;
+
+    public static FeedSort fromString(String value) {
+        try {
+            return FeedSort.valueOf(value.trim().toUpperCase());
+        } catch (Exception e) {
+            throw new IllegalArgumentException(value + " is not a valid FeedSort");
+        }
+    }
+}
@@ -15,4 +15,12 @@ public enum NotificationType {
     public String getActionText() {
         return actionText;
     }
+
+    // 여러 명이 합쳐진 알림은 "님 외 N명이 ..."으로 표시한다
+    public String getActionText(int actorCount) {
+        if (actorCount <= 1) {
+            return actionText;
+        }
+        return "님 외 " + (actorCount - 1) + "명이" + actionText.substring("님이".length());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.pjy008008.j_community.model;
+
+public enum SearchHitType {
+    POST,
+    COMMENT
+}
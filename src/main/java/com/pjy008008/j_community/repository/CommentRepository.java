@@ -1,11 +1,153 @@
 package com.pjy008008.j_community.repository;
 
 import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.support.CommentRanking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    String ROW_COLUMNS = "c.id, c.parent.id, a.username, c.content, c.votes, " +
+            "c.bestScore, c.controversy, c.replyCount, c.createdAt";
+
     List<Comment> findByPostId(Long postId);
-    List<Comment> findByPostIdAndParentIsNullOrderByCreatedAtAsc(Long postId);
-}
\ No newline at end of file
+    // 형제 댓글 한 페이지 (keyset). 정렬 키는 (post_id, parent_id, 정렬 키, id) 인덱스를 탄다
+    Window<Comment> findByPostIdAndParentIsNull(Long postId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Comment> findByParentId(Long parentId, ScrollPosition position, Sort sort, Limit limit);
+
+    // 최상위 댓글들의 하위 트리를 maxDepth까지. 정렬 키 순서로 읽으면 형제 순서도 그대로 유지된다
+    @Query("SELECT new com.pjy008008.j_community.repository.CommentRow(" + ROW_COLUMNS + ") " +
+            "FROM Comment c JOIN c.author a WHERE c.rootId IN :rootIds AND c.depth <= :maxDepth")
+    List<CommentRow> findTreeRowsByRootIdIn(@Param("rootIds") Collection<Long> rootIds,
+                                           @Param("maxDepth") int maxDepth,
+                                           Sort sort);
+
+    // 한 댓글의 하위 트리 구간 (root_id, path 인덱스 범위) 중 이번 페이지 답글들의 아래만 남긴다
+    @Query("SELECT new com.pjy008008.j_community.repository.CommentRow(" + ROW_COLUMNS + ") " +
+            "FROM Comment c JOIN c.author a WHERE c.rootId = :rootId " +
+            "AND c.path > :fromPath AND c.path < :toPath AND c.depth <= :maxDepth " +
+            "AND SUBSTRING(c.path, 1, :prefixLength) IN :prefixes")
+    List<CommentRow> findSubtreeRows(@Param("rootId") Long rootId,
+                                     @Param("fromPath") String fromPath,
+                                     @Param("toPath") String toPath,
+                                     @Param("maxDepth") int maxDepth,
+                                     @Param("prefixLength") int prefixLength,
+                                     @Param("prefixes") Collection<String> prefixes,
+                                     Sort sort);
+
+    // 자기 자신을 포함한 하위 트리 전체의 id
+    @Query("SELECT c.id FROM Comment c WHERE c.rootId = :rootId AND c.path >= :fromPath AND c.path < :toPath")
+    List<Long> findSubtreeIds(@Param("rootId") Long rootId,
+                              @Param("fromPath") String fromPath,
+                              @Param("toPath") String toPath);
+
+    // 한 문장 안에서 부모가 자식보다 먼저 지워져도 parent_id FK에 걸리지 않도록 삭제 전에 연결을 끊는다
+    @Modifying
+    @Query("UPDATE Comment c SET c.parent = null WHERE c.rootId = :rootId AND c.path >= :fromPath AND c.path < :toPath")
+    int detachSubtree(@Param("rootId") Long rootId,
+                      @Param("fromPath") String fromPath,
+                      @Param("toPath") String toPath);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.rootId = :rootId AND c.path >= :fromPath AND c.path < :toPath")
+    int deleteSubtree(@Param("rootId") Long rootId,
+                      @Param("fromPath") String fromPath,
+                      @Param("toPath") String toPath);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :commentId")
+    int addReplyCount(@Param("commentId") Long commentId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = (SELECT CAST(COUNT(r) AS Integer) FROM Comment r WHERE r.parent = c) " +
+            "WHERE c.id BETWEEN :fromId AND :toId " +
+            "AND c.replyCount <> (SELECT CAST(COUNT(r) AS Integer) FROM Comment r WHERE r.parent = c)")
+    int reconcileReplyCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // path 컬럼 추가 이전 댓글 중 부모의 path가 이미 채워진 것 (부모가 먼저 처리되도록 id 순)
+    @Query("SELECT c.id AS id, p.path AS parentPath, p.depth AS parentDepth, p.rootId AS parentRootId " +
+            "FROM Comment c LEFT JOIN c.parent p " +
+            "WHERE c.path IS NULL AND (p IS NULL OR p.path IS NOT NULL) ORDER BY c.id")
+    List<PathlessComment> findPathless(Limit limit);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.path = :path, c.depth = :depth, c.rootId = :rootId WHERE c.id = :commentId")
+    int assignPath(@Param("commentId") Long commentId,
+                   @Param("path") String path,
+                   @Param("depth") int depth,
+                   @Param("rootId") Long rootId);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.votes = c.votes + :upDelta - :downDelta, " +
+            "c.upvotes = c.upvotes + :upDelta, c.downvotes = c.downvotes + :downDelta WHERE c.id = :commentId")
+    int addVotes(@Param("commentId") Long commentId,
+                 @Param("upDelta") int upDelta,
+                 @Param("downDelta") int downDelta);
+
+    @Modifying
+    @Query(value = "UPDATE comment SET best_score = " + CommentRanking.BEST_SCORE_SQL +
+            ", controversy = " + CommentRanking.CONTROVERSY_SQL + " WHERE id = :commentId", nativeQuery = true)
+    int refreshRanking(@Param("commentId") Long commentId);
+
+    // 컬럼 추가 이전에 쌓인 투표로 추천/비추천 수를 채운다
+    @Modifying
+    @Query(value = "UPDATE comment SET " +
+            "upvotes = (SELECT COUNT(*) FROM comment_votes v WHERE v.comment_id = comment.id AND v.vote_type = 'UP'), " +
+            "downvotes = (SELECT COUNT(*) FROM comment_votes v WHERE v.comment_id = comment.id AND v.vote_type = 'DOWN') " +
+            "WHERE id BETWEEN :fromId AND :toId AND upvotes = 0 AND downvotes = 0 " +
+            "AND EXISTS (SELECT 1 FROM comment_votes v WHERE v.comment_id = comment.id)", nativeQuery = true)
+    int backfillVoteCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query(value = "UPDATE comment SET best_score = " + CommentRanking.BEST_SCORE_SQL +
+            ", controversy = " + CommentRanking.CONTROVERSY_SQL + " WHERE id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int refreshRankingBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT c.post.id AS postId, c.votes AS votes FROM Comment c WHERE c.id = :commentId")
+    Optional<VoteScore> findVoteScoreById(@Param("commentId") Long commentId);
+
+    @Query("SELECT c.id AS id, c.votes AS votes FROM Comment c WHERE c.id IN :ids")
+    List<VoteCount> findVoteCountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Comment c")
+    long findMaxId();
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.post WHERE c.id BETWEEN :fromId AND :toId")
+    List<Comment> findWithPostByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author JOIN FETCH c.post p JOIN FETCH p.community WHERE c.id IN :ids")
+    List<Comment> findWithAuthorAndPostByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.post.community.id = :communityId ORDER BY c.id")
+    Stream<Comment> streamByCommunityId(@Param("communityId") Long communityId);
+
+    interface PathlessComment {
+        Long getId();
+        String getParentPath();
+        Integer getParentDepth();
+        Long getParentRootId();
+    }
+
+    interface VoteScore {
+        Long getPostId();
+        int getVotes();
+    }
+}
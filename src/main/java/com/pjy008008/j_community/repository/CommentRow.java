@@ -0,0 +1,16 @@
+package com.pjy008008.j_community.repository;
+
+import java.time.LocalDateTime;
+
+// 댓글 트리 조립용 평면 projection (작성자 이름과 keyset 커서에 쓰는 정렬 키까지 한 번에 읽는다)
+public record CommentRow(
+        Long id,
+        Long parentId,
+        String author,
+        String content,
+        int votes,
+        double bestScore,
+        double controversy,
+        int replyCount,
+        LocalDateTime createdAt
+) {}
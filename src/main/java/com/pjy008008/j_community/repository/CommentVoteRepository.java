@@ -1,12 +1,47 @@
 package com.pjy008008.j_community.repository;
 
 import com.pjy008008.j_community.entity.CommentVote;
+import com.pjy008008.j_community.model.VoteType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CommentVoteRepository extends JpaRepository<CommentVote, Long> {
     Optional<CommentVote> findByUserIdAndCommentId(Long userId, Long commentId);
     List<CommentVote> findByUserIdAndComment_Post_Id(Long userId, Long postId);
-}
\ No newline at end of file
+    List<CommentVote> findByUserIdAndCommentIdIn(Long userId, Collection<Long> commentIds);
+
+    @Modifying
+    @Query("DELETE FROM CommentVote v WHERE v.comment.id IN " +
+            "(SELECT c.id FROM Comment c WHERE c.rootId = :rootId AND c.path >= :fromPath AND c.path < :toPath)")
+    int deleteBySubtree(@Param("rootId") Long rootId,
+                        @Param("fromPath") String fromPath,
+                        @Param("toPath") String toPath);
+
+    @Modifying
+    @Query("DELETE FROM CommentVote v WHERE v.user.id = :userId AND v.comment.id = :commentId AND v.voteType = :voteType")
+    int deleteIfSameType(@Param("userId") Long userId,
+                         @Param("commentId") Long commentId,
+                         @Param("voteType") VoteType voteType);
+
+    @Modifying
+    @Query("UPDATE CommentVote v SET v.voteType = :voteType, v.updatedAt = LOCAL DATETIME " +
+            "WHERE v.user.id = :userId AND v.comment.id = :commentId AND v.voteType <> :voteType")
+    int switchIfOtherType(@Param("userId") Long userId,
+                          @Param("commentId") Long commentId,
+                          @Param("voteType") VoteType voteType);
+
+    @Modifying
+    @Query("INSERT INTO CommentVote (user, comment, voteType, createdAt, updatedAt) " +
+            "SELECT u, c, :voteType, LOCAL DATETIME, LOCAL DATETIME FROM User u, Comment c " +
+            "WHERE u.id = :userId AND c.id = :commentId " +
+            "AND NOT EXISTS (SELECT 1 FROM CommentVote v WHERE v.user.id = :userId AND v.comment.id = :commentId)")
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("commentId") Long commentId,
+                       @Param("voteType") VoteType voteType);
+}
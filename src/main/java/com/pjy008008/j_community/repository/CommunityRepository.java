@@ -1,8 +1,46 @@
 package com.pjy008008.j_community.repository;
 import com.pjy008008.j_community.entity.Community;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface CommunityRepository extends JpaRepository<Community, Long> {
     Optional<Community> findByName(String name);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("UPDATE Community c SET c.postCount = c.postCount + :delta WHERE c.id = :communityId")
+    int updatePostCount(@Param("communityId") Long communityId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Community c SET c.memberCount = c.memberCount + :delta WHERE c.id = :communityId")
+    int updateMemberCount(@Param("communityId") Long communityId, @Param("delta") int delta);
+
+    @Query("SELECT c.memberCount FROM Community c WHERE c.id = :communityId")
+    int findMemberCountById(@Param("communityId") Long communityId);
+
+    // 실제 멤버 수로 보정하면 fan-out 임계치 이하로 내려가는 커뮤니티
+    @Query("SELECT c.id FROM Community c WHERE c.id BETWEEN :fromId AND :toId AND c.memberCount > :maxMembers " +
+            "AND (SELECT COUNT(uc) FROM UserCommunity uc WHERE uc.community = c) <= :maxMembers")
+    List<Long> findIdsDroppingToMemberCount(@Param("fromId") Long fromId,
+                                            @Param("toId") Long toId,
+                                            @Param("maxMembers") int maxMembers);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Community c")
+    long findMaxId();
+
+    @Modifying
+    @Query("UPDATE Community c SET c.postCount = (SELECT CAST(COUNT(p) AS Integer) FROM Post p WHERE p.community = c) " +
+            "WHERE c.id BETWEEN :fromId AND :toId " +
+            "AND c.postCount <> (SELECT CAST(COUNT(p) AS Integer) FROM Post p WHERE p.community = c)")
+    int reconcilePostCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query("UPDATE Community c SET c.memberCount = (SELECT CAST(COUNT(uc) AS Integer) FROM UserCommunity uc WHERE uc.community = c) " +
+            "WHERE c.id BETWEEN :fromId AND :toId " +
+            "AND c.memberCount <> (SELECT CAST(COUNT(uc) AS Integer) FROM UserCommunity uc WHERE uc.community = c)")
+    int reconcileMemberCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
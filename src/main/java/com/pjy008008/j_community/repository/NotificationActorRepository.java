@@ -0,0 +1,35 @@
+package com.pjy008008.j_community.repository;
+
+import com.pjy008008.j_community.entity.NotificationActor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationActorRepository extends JpaRepository<NotificationActor, Long> {
+
+    // 이번 배치의 행위자 중 이미 기록된 사람만 읽는다 (인기 글의 전체 행위자 목록을 읽지 않는다)
+    @Query("SELECT a.notificationId AS notificationId, a.actorId AS actorId FROM NotificationActor a " +
+            "WHERE a.notificationId IN :notificationIds AND a.actorId IN :actorIds")
+    List<ActorOf> findKnown(@Param("notificationIds") Collection<Long> notificationIds,
+                            @Param("actorIds") Collection<Long> actorIds);
+
+    @Modifying
+    @Query("DELETE FROM NotificationActor a WHERE a.notificationId IN " +
+            "(SELECT n.id FROM Notification n WHERE n.recipient.id = :userId OR n.actor.id = :userId)")
+    int deleteByNotificationUserId(@Param("userId") Long userId);
+
+    // 알림이 지워진 id 범위의 행위자 기록을 정리한다
+    @Modifying
+    @Query("DELETE FROM NotificationActor a WHERE a.notificationId BETWEEN :fromId AND :toId " +
+            "AND NOT EXISTS (SELECT 1 FROM Notification n WHERE n.id = a.notificationId)")
+    int deleteOrphanedBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    interface ActorOf {
+        Long getNotificationId();
+        Long getActorId();
+    }
+}
@@ -1,16 +1,100 @@
 package com.pjy008008.j_community.repository;
 
 import com.pjy008008.j_community.entity.Notification;
+import com.pjy008008.j_community.model.NotificationType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findAllByRecipientIdOrderByCreatedAtDesc(Long recipientId);
+    // 합쳐진 알림은 새 행위자가 올 때마다 updatedAt이 갱신되어 목록 맨 위로 다시 올라온다
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId ORDER BY n.updatedAt DESC, n.id DESC")
+    List<Notification> findLatestByRecipient(@Param("recipientId") Long recipientId, Limit limit);
+
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.recipient.id = :recipientId " +
+            "AND (n.updatedAt < :updatedAt OR (n.updatedAt = :updatedAt AND n.id < :id)) " +
+            "ORDER BY n.updatedAt DESC, n.id DESC")
+    List<Notification> findLatestByRecipientBefore(@Param("recipientId") Long recipientId,
+                                                   @Param("updatedAt") LocalDateTime updatedAt,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    int countByRecipientIdAndIsReadFalse(Long recipientId);
+
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id IN :recipientIds AND n.updatedAt = :updatedAt ORDER BY n.id")
+    List<Notification> findWrittenAt(@Param("recipientIds") Collection<Long> recipientIds,
+                                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    // 스트림 재연결 시 마지막으로 받은 이벤트 이후에 저장/갱신된 알림 (오래된 순)
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.recipient.id = :recipientId " +
+            "AND (n.updatedAt > :updatedAt OR (n.updatedAt = :updatedAt AND n.id > :id)) " +
+            "ORDER BY n.updatedAt, n.id")
+    List<Notification> findUpdatedAfter(@Param("recipientId") Long recipientId,
+                                        @Param("updatedAt") LocalDateTime updatedAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    // 묶음 기간 안에 만들어진 알림 중 같은 대상을 가리키는 것 (수신자/종류는 호출하는 쪽에서 맞춘다)
+    @Query("SELECT n.id AS id, n.recipient.id AS recipientId, n.type AS type, n.targetId AS targetId, " +
+            "n.actorCount AS actorCount, n.latestActors AS latestActors, n.actor.id AS actorId, n.isRead AS read " +
+            "FROM Notification n WHERE n.targetId IN :targetIds AND n.createdAt >= :since ORDER BY n.createdAt, n.id")
+    List<OpenGroup> findOpenGroups(@Param("targetIds") Collection<Long> targetIds, @Param("since") LocalDateTime since);
+
+    // 방금 INSERT한 배치의 행 id (JDBC 배치는 생성된 키를 돌려주지 않는다)
+    @Query("SELECT n.id AS id, n.recipient.id AS recipientId, n.type AS type, n.targetId AS targetId, " +
+            "n.actorCount AS actorCount, n.latestActors AS latestActors, n.actor.id AS actorId, n.isRead AS read " +
+            "FROM Notification n WHERE n.targetId IN :targetIds AND n.createdAt = :createdAt")
+    List<OpenGroup> findCreatedAt(@Param("targetIds") Collection<Long> targetIds, @Param("createdAt") LocalDateTime createdAt);
+
+    // afterId 뒤의 첫 만료 알림 id (없으면 null). 기본 키 순서로 읽다가 첫 행에서 멈추므로,
+    // 오래 보관되는 안 읽은 알림이나 합쳐진 알림 사이의 기한 안 구간을 범위마다 트랜잭션으로 훑지 않고 건너뛴다
+    @Query("SELECT MIN(n.id) FROM Notification n WHERE n.id > :afterId " +
+            "AND ((n.isRead = true AND n.updatedAt < :readExpiredBefore) " +
+            "OR (n.isRead = false AND n.updatedAt < :unreadExpiredBefore))")
+    Long findNextExpiredId(@Param("afterId") Long afterId,
+                           @Param("readExpiredBefore") LocalDateTime readExpiredBefore,
+                           @Param("unreadExpiredBefore") LocalDateTime unreadExpiredBefore);
+
+    // 합쳐진 알림은 갱신될 때마다 다시 최신이 되므로 updatedAt 기준으로 만료를 판단한다
+    @Modifying
+    @Query("DELETE FROM Notification n " +
+            "WHERE n.id BETWEEN :fromId AND :toId AND n.isRead = :read AND n.updatedAt < :expiredBefore")
+    int deleteExpiredBetween(@Param("fromId") Long fromId,
+                             @Param("toId") Long toId,
+                             @Param("read") boolean read,
+                             @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    // 회원 탈퇴: actor/recipient FK에 cascade가 없으므로 회원을 지우기 전에 직접 지운다
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.recipient.id = :userId OR n.actor.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // 이미 읽은 알림이나 다른 사람의 알림이면 0을 반환한다
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+            "WHERE n.id = :id AND n.recipient.id = :recipientId AND n.isRead = false")
+    int markAsRead(@Param("id") Long id, @Param("recipientId") Long recipientId);
+
     @Modifying(clearAutomatically = true)
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.recipient.id = :recipientId AND n.isRead = false")
-    void markAllAsReadByRecipientId(@Param("recipientId") Long recipientId);
-}
\ No newline at end of file
+    int markAllAsReadByRecipientId(@Param("recipientId") Long recipientId);
+
+    interface OpenGroup {
+        Long getId();
+        Long getRecipientId();
+        NotificationType getType();
+        Long getTargetId();
+        int getActorCount();
+        String getLatestActors();
+        Long getActorId();
+        boolean isRead();
+    }
+}
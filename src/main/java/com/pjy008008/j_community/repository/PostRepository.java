@@ -1,11 +1,132 @@
 package com.pjy008008.j_community.repository;
 import com.pjy008008.j_community.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findByCommunityName(String communityName, Pageable pageable);
-    Page<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);
     Page<Post> findByAuthorIdOrderByCreatedAtDesc(Long authorId, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT p FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findLatest(Limit limit);
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findLatestBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT p FROM Post p WHERE p.community.id = :communityId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findLatestByCommunity(@Param("communityId") Long communityId, Limit limit);
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.community.id = :communityId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findLatestByCommunityBefore(@Param("communityId") Long communityId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    @Query("SELECT p FROM Post p WHERE p.community.id IN :communityIds ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findLatestByCommunities(@Param("communityIds") List<Long> communityIds, Limit limit);
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.community.id IN :communityIds " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findLatestByCommunitiesBefore(@Param("communityIds") List<Long> communityIds,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    @Query("SELECT p FROM Post p ORDER BY p.hotRank DESC, p.id DESC")
+    List<Post> findHottest(Limit limit);
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.hotRank < :hotRank OR (p.hotRank = :hotRank AND p.id < :id) " +
+            "ORDER BY p.hotRank DESC, p.id DESC")
+    List<Post> findHottestBelow(@Param("hotRank") double hotRank, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT p FROM Post p WHERE p.community.id = :communityId ORDER BY p.hotRank DESC, p.id DESC")
+    List<Post> findHottestByCommunity(@Param("communityId") Long communityId, Limit limit);
+
+    @Query("SELECT p FROM Post p " +
+            "WHERE p.community.id = :communityId " +
+            "AND (p.hotRank < :hotRank OR (p.hotRank = :hotRank AND p.id < :id)) " +
+            "ORDER BY p.hotRank DESC, p.id DESC")
+    List<Post> findHottestByCommunityBelow(@Param("communityId") Long communityId,
+                                           @Param("hotRank") double hotRank,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int updateCommentCount(@Param("postId") Long postId, @Param("delta") int delta);
+
+    // MySQL은 SET 절을 왼쪽부터 평가하므로 이전 득표수를 쓰는 hotRank를 먼저 갱신한다
+    @Modifying
+    @Query("UPDATE Post p SET " +
+            "p.hotRank = p.hotRank - sign(p.votes) * log10(greatest(abs(p.votes), 1)) " +
+            "+ sign(p.votes + :delta) * log10(greatest(abs(p.votes + :delta), 1)), " +
+            "p.votes = p.votes + :delta " +
+            "WHERE p.id = :postId")
+    int addVotes(@Param("postId") Long postId, @Param("delta") int delta);
+
+    @Query("SELECT p.votes FROM Post p WHERE p.id = :postId")
+    Optional<Integer> findVotesById(@Param("postId") Long postId);
+
+    @Query("SELECT p.id AS id, p.votes AS votes FROM Post p WHERE p.id IN :ids")
+    List<VoteCount> findVoteCountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+    long findMaxId();
+
+    @Query("SELECT p.id AS id, p.votes AS votes, p.createdAt AS createdAt, p.hotRank AS hotRank " +
+            "FROM Post p WHERE p.id BETWEEN :fromId AND :toId")
+    List<RankedPost> findRankedBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // 읽은 뒤 투표가 반영됐다면 그 투표가 이미 상대값으로 hotRank를 고쳤으므로 건너뛴다
+    @Modifying
+    @Query("UPDATE Post p SET p.hotRank = :hotRank WHERE p.id = :postId AND p.votes = :votes")
+    int assignHotRank(@Param("postId") Long postId, @Param("votes") int votes, @Param("hotRank") double hotRank);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = (SELECT CAST(COUNT(c) AS Integer) FROM Comment c WHERE c.post = p) " +
+            "WHERE p.id BETWEEN :fromId AND :toId " +
+            "AND p.commentCount <> (SELECT CAST(COUNT(c) AS Integer) FROM Comment c WHERE c.post = p)")
+    int reconcileCommentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    List<Post> findByIdBetween(Long fromId, Long toId);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.author JOIN FETCH p.community WHERE p.id IN :ids")
+    List<Post> findWithAuthorAndCommunityByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 내보내기용 forward-only 커서. 읽기 전용이라 스냅샷/dirty checking 비용이 없다
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p JOIN FETCH p.author WHERE p.community.id = :communityId ORDER BY p.id")
+    Stream<Post> streamByCommunityId(@Param("communityId") Long communityId);
+
+    interface RankedPost {
+        Long getId();
+        int getVotes();
+        LocalDateTime getCreatedAt();
+        double getHotRank();
+    }
+}
@@ -0,0 +1,23 @@
+package com.pjy008008.j_community.repository;
+
+import com.pjy008008.j_community.entity.PostViewSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PostViewSketchRepository extends JpaRepository<PostViewSketch, Long> {
+
+    @Modifying
+    @Query("DELETE FROM PostViewSketch s WHERE s.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    // 커뮤니티 삭제나 회원 탈퇴 cascade로 게시글이 지워지면 스케치만 남는다
+    @Modifying
+    @Query("DELETE FROM PostViewSketch s WHERE s.postId BETWEEN :fromId AND :toId " +
+            "AND NOT EXISTS (SELECT 1 FROM Post p WHERE p.id = s.postId)")
+    int deleteOrphanedBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT COALESCE(MAX(s.postId), 0) FROM PostViewSketch s")
+    long findMaxPostId();
+}
@@ -1,11 +1,41 @@
 package com.pjy008008.j_community.repository;
 
 import com.pjy008008.j_community.entity.PostVote;
+import com.pjy008008.j_community.model.VoteType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 import java.util.Optional;
 
 public interface PostVoteRepository extends JpaRepository<PostVote, Long> {
     Optional<PostVote> findByUserIdAndPostId(Long userId, Long postId);
     List<PostVote> findByUserIdAndPostIdIn(Long userId, List<Long> postIds);
-}
\ No newline at end of file
+
+    // 같은 방향으로 다시 누르면 취소
+    @Modifying
+    @Query("DELETE FROM PostVote v WHERE v.user.id = :userId AND v.post.id = :postId AND v.voteType = :voteType")
+    int deleteIfSameType(@Param("userId") Long userId,
+                         @Param("postId") Long postId,
+                         @Param("voteType") VoteType voteType);
+
+    // 반대 방향이면 전환
+    @Modifying
+    @Query("UPDATE PostVote v SET v.voteType = :voteType, v.updatedAt = LOCAL DATETIME " +
+            "WHERE v.user.id = :userId AND v.post.id = :postId AND v.voteType <> :voteType")
+    int switchIfOtherType(@Param("userId") Long userId,
+                          @Param("postId") Long postId,
+                          @Param("voteType") VoteType voteType);
+
+    // 투표가 없을 때만 추가. 동시에 들어온 같은 사용자의 요청은 (user_id, post_id) 유니크 제약이 막는다
+    @Modifying
+    @Query("INSERT INTO PostVote (user, post, voteType, createdAt, updatedAt) " +
+            "SELECT u, p, :voteType, LOCAL DATETIME, LOCAL DATETIME FROM User u, Post p " +
+            "WHERE u.id = :userId AND p.id = :postId " +
+            "AND NOT EXISTS (SELECT 1 FROM PostVote v WHERE v.user.id = :userId AND v.post.id = :postId)")
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("postId") Long postId,
+                       @Param("voteType") VoteType voteType);
+}
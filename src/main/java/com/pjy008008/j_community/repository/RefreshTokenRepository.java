@@ -0,0 +1,31 @@
+package com.pjy008008.j_community.repository;
+
+import com.pjy008008.j_community.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // 동시에 같은 토큰으로 갱신하면 한 요청만 1을 받는다
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.used = true WHERE t.id = :id AND t.used = false")
+    int markUsed(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.familyId = :familyId")
+    int deleteFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.userId = :userId AND t.expiresAt <= :now")
+    int deleteExpiredByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,75 @@
+package com.pjy008008.j_community.repository;
+
+import com.pjy008008.j_community.entity.TimelineEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+
+    @Modifying
+    @Query("INSERT INTO TimelineEntry (userId, postId, communityId, postCreatedAt) " +
+            "SELECT uc.user.id, p.id, p.community.id, p.createdAt FROM Post p, UserCommunity uc " +
+            "WHERE p.id = :postId AND uc.community.id = p.community.id")
+    int fanOut(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("INSERT INTO TimelineEntry (userId, postId, communityId, postCreatedAt) " +
+            "SELECT :userId, p.id, p.community.id, p.createdAt FROM Post p " +
+            "WHERE p.community.id = :communityId AND p.createdAt >= :since")
+    int backfill(@Param("userId") Long userId,
+                 @Param("communityId") Long communityId,
+                 @Param("since") LocalDateTime since);
+
+    // pull 모드였다가 임계치 아래로 내려온 커뮤니티의 최근 글을 멤버 전원에게 채운다. 이미 있는 항목은 건너뛴다
+    @Modifying
+    @Query("INSERT INTO TimelineEntry (userId, postId, communityId, postCreatedAt) " +
+            "SELECT uc.user.id, p.id, p.community.id, p.createdAt FROM Post p, UserCommunity uc " +
+            "WHERE p.community.id = :communityId AND uc.community.id = p.community.id AND p.createdAt >= :since " +
+            "AND NOT EXISTS (SELECT 1 FROM TimelineEntry t WHERE t.userId = uc.user.id AND t.postId = p.id)")
+    int backfillMembers(@Param("communityId") Long communityId, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.userId = :userId AND t.communityId = :communityId")
+    int deleteByUserIdAndCommunityId(@Param("userId") Long userId, @Param("communityId") Long communityId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.communityId = :communityId")
+    int deleteByCommunityId(@Param("communityId") Long communityId);
+
+    // 회원 탈퇴 cascade로 사라진 게시글/회원의 항목을 id 범위 단위로 정리한다
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.id BETWEEN :fromId AND :toId " +
+            "AND (NOT EXISTS (SELECT 1 FROM Post p WHERE p.id = t.postId) " +
+            "OR NOT EXISTS (SELECT 1 FROM User u WHERE u.id = t.userId))")
+    int deleteOrphanedBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM TimelineEntry t")
+    long findMaxId();
+
+    @Query("SELECT t FROM TimelineEntry t WHERE t.userId = :userId " +
+            "ORDER BY t.postCreatedAt DESC, t.postId DESC")
+    List<TimelineEntry> findLatest(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT t FROM TimelineEntry t " +
+            "WHERE t.userId = :userId " +
+            "AND (t.postCreatedAt < :createdAt OR (t.postCreatedAt = :createdAt AND t.postId < :postId)) " +
+            "ORDER BY t.postCreatedAt DESC, t.postId DESC")
+    List<TimelineEntry> findLatestBefore(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("postId") Long postId,
+                                         Limit limit);
+}
@@ -2,6 +2,9 @@ package com.pjy008008.j_community.repository;
 
 import com.pjy008008.j_community.entity.UserCommunity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -9,4 +12,9 @@ public interface UserCommunityRepository extends JpaRepository<UserCommunity, Lo
     boolean existsByUserIdAndCommunityId(Long userId, Long communityId);
     Optional<UserCommunity> findByUserIdAndCommunityId(Long userId, Long communityId);
     List<UserCommunity> findAllByUserId(Long userId);
-}
\ No newline at end of file
+
+    @Query("SELECT uc.community.id FROM UserCommunity uc " +
+            "WHERE uc.user.id = :userId AND uc.community.memberCount > :memberCount")
+    List<Long> findCommunityIdsByUserIdAndMemberCountGreaterThan(@Param("userId") Long userId,
+                                                                 @Param("memberCount") int memberCount);
+}
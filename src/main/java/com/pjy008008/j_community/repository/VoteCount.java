@@ -0,0 +1,7 @@
+package com.pjy008008.j_community.repository;
+
+// 게시글/댓글의 현재 점수만 읽는 projection
+public interface VoteCount {
+    Long getId();
+    int getVotes();
+}
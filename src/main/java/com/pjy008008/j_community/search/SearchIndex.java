@@ -0,0 +1,331 @@
+package com.pjy008008.j_community.search;
+
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.model.SearchHitType;
+import com.pjy008008.j_community.support.SearchCursor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// 게시글 제목/본문과 댓글 본문에 대한 프로세스 내 Lucene 역색인 (기본 유사도: BM25).
+// 쓰기는 요청 스레드에서 reader를 다시 열지 않고 refresh-interval-ms마다 모아서 검색에 반영(NRT refresh)하며,
+// 디스크 커밋도 주기적으로 모아서 수행한다.
+@Slf4j
+@Component
+public class SearchIndex {
+
+    private static final String UID = "uid";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String POST_ID = "postId";
+    private static final String COMMUNITY_ID = "communityId";
+    private static final String AUTHOR_ID = "authorId";
+    private static final String PATH = "path";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String SORT_KEY = "sortKey";
+
+    // 문서 필드 구성이 바뀌면 올린다. 커밋에 기록된 값과 다르면 기동 시 DB에서 다시 만든다
+    private static final String SCHEMA_VERSION_KEY = "schemaVersion";
+    private static final String SCHEMA_VERSION = "2";
+
+    // 점수가 같으면 최근 문서가 먼저 오도록 sortKey 내림차순
+    private static final Sort RELEVANCE = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(SORT_KEY, SortField.Type.LONG, true)
+    );
+
+    private final Analyzer analyzer = new KoreanAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public SearchIndex(@Value("${search.index.path}") String indexPath) throws IOException {
+        this.directory = FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void indexPost(Post post) {
+        Document doc = baseDocument(SearchHitType.POST, post.getId(), post.getId(),
+                post.getCommunity().getId(), post.getAuthor().getId());
+        doc.add(new TextField(TITLE, post.getTitle(), Field.Store.NO));
+        doc.add(new TextField(CONTENT, nullToEmpty(post.getContent()), Field.Store.NO));
+        update(uid(SearchHitType.POST, post.getId()), doc);
+    }
+
+    public void indexComment(Comment comment) {
+        Post post = comment.getPost();
+        Document doc = baseDocument(SearchHitType.COMMENT, comment.getId(), post.getId(),
+                post.getCommunity().getId(), comment.getAuthor().getId());
+        doc.add(new TextField(CONTENT, comment.getContent(), Field.Store.NO));
+        if (comment.getPath() != null) {
+            doc.add(new StringField(PATH, comment.getPath(), Field.Store.YES));
+        }
+        update(uid(SearchHitType.COMMENT, comment.getId()), doc);
+    }
+
+    // 게시글과 그 댓글 문서를 함께 삭제
+    public void deletePost(Long postId) {
+        delete(LongPoint.newExactQuery(POST_ID, postId));
+    }
+
+    public void deleteCommunity(Long communityId) {
+        delete(LongPoint.newExactQuery(COMMUNITY_ID, communityId));
+    }
+
+    // 회원 탈퇴: 작성한 글/댓글과 함께 cascade로 지워진 그 글의 댓글, 그 댓글의 하위 댓글까지 삭제.
+    // 아직 refresh되지 않은 문서도 찾도록 writer에서 reader를 새로 연다 (탈퇴는 드물다)
+    public void deleteAuthor(Long authorId) {
+        Query byAuthor = LongPoint.newExactQuery(AUTHOR_ID, authorId);
+        List<Query> queries = new ArrayList<>();
+        queries.add(byAuthor);
+        try (DirectoryReader reader = DirectoryReader.open(writer)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            TopDocs topDocs = searcher.search(byAuthor, Math.max(1, reader.maxDoc()));
+            StoredFields storedFields = searcher.storedFields();
+            List<Long> postIds = new ArrayList<>();
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document doc = storedFields.document(scoreDoc.doc);
+                if (SearchHitType.valueOf(doc.get(TYPE)) == SearchHitType.POST) {
+                    postIds.add(doc.getField(ID).numericValue().longValue());
+                } else if (doc.get(PATH) != null) {
+                    queries.add(new PrefixQuery(new Term(PATH, doc.get(PATH))));
+                }
+            }
+            if (!postIds.isEmpty()) {
+                queries.add(LongPoint.newSetQuery(POST_ID, postIds));
+            }
+            writer.deleteDocuments(queries.toArray(Query[]::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(SearchHitType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Term[] terms = ids.stream().map(id -> new Term(UID, uid(type, id))).toArray(Term[]::new);
+        try {
+            writer.deleteDocuments(terms);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<SearchIndexHit> search(String text, Long communityId, SearchCursor after, int limit) {
+        Query query = buildQuery(text, communityId);
+        if (query == null) {
+            return List.of();
+        }
+
+        IndexSearcher searcher = acquire();
+        try {
+            TopDocs topDocs = (after == null)
+                    ? searcher.search(query, limit, RELEVANCE, true)
+                    : searcher.searchAfter(toFieldDoc(after, searcher), query, limit, RELEVANCE, true);
+            return toHits(searcher, topDocs);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public int numDocs() {
+        IndexSearcher searcher = acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            release(searcher);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isCurrentSchema() {
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (SCHEMA_VERSION_KEY.equals(entry.getKey())) {
+                return SCHEMA_VERSION.equals(entry.getValue());
+            }
+        }
+        return false;
+    }
+
+    // 전체 재색인이 끝난 뒤 호출한다. 다음 커밋에 현재 스키마 버전이 기록된다
+    public void markCurrentSchema() {
+        writer.setLiveCommitData(Map.of(SCHEMA_VERSION_KEY, SCHEMA_VERSION).entrySet());
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms}")
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Failed to refresh search index", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to commit search index", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    // 사용자 입력은 SimpleQueryParser로 해석하므로 문법 오류로 예외가 나지 않는다
+    private Query buildQuery(String text, Long communityId) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(TITLE, 2.0f, CONTENT, 1.0f));
+        Query textQuery = parser.parse(text);
+        if (textQuery == null) {
+            return null;
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST);
+        if (communityId != null) {
+            builder.add(LongPoint.newExactQuery(COMMUNITY_ID, communityId), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private List<SearchIndexHit> toHits(IndexSearcher searcher, TopDocs topDocs) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<SearchIndexHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+            Document doc = storedFields.document(scoreDoc.doc);
+            FieldDoc fieldDoc = (FieldDoc) scoreDoc;
+            hits.add(new SearchIndexHit(
+                    SearchHitType.valueOf(doc.get(TYPE)),
+                    doc.getField(ID).numericValue().longValue(),
+                    doc.getField(POST_ID).numericValue().longValue(),
+                    (Float) fieldDoc.fields[0],
+                    (Long) fieldDoc.fields[1]
+            ));
+        }
+        return hits;
+    }
+
+    // 정렬 값이 모두 같으면 Lucene은 doc 번호가 더 큰 문서를 다음으로 본다.
+    // 커서 위치의 문서 자체가 다시 나오지 않도록 마지막 doc 번호를 기준으로 삼는다.
+    private FieldDoc toFieldDoc(SearchCursor cursor, IndexSearcher searcher) {
+        int lastDoc = Math.max(0, searcher.getIndexReader().maxDoc() - 1);
+        return new FieldDoc(lastDoc, cursor.score(), new Object[]{cursor.score(), cursor.sortKey()});
+    }
+
+    private Document baseDocument(SearchHitType type, Long id, Long postId, Long communityId, Long authorId) {
+        Document doc = new Document();
+        doc.add(new StringField(UID, uid(type, id), Field.Store.NO));
+        doc.add(new StringField(TYPE, type.name(), Field.Store.YES));
+        doc.add(new StoredField(ID, id));
+        doc.add(new LongPoint(POST_ID, postId));
+        doc.add(new StoredField(POST_ID, postId));
+        doc.add(new LongPoint(COMMUNITY_ID, communityId));
+        doc.add(new LongPoint(AUTHOR_ID, authorId));
+        doc.add(new NumericDocValuesField(SORT_KEY, sortKey(type, id)));
+        return doc;
+    }
+
+    private void update(String uid, Document doc) {
+        try {
+            writer.updateDocument(new Term(UID, uid), doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void delete(Query query) {
+        try {
+            writer.deleteDocuments(query);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Failed to release index searcher", e);
+        }
+    }
+
+    private static String uid(SearchHitType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    // 게시글과 댓글 id가 겹치지 않도록 타입 비트를 붙인 정렬 키
+    private static long sortKey(SearchHitType type, Long id) {
+        return id * 2 + type.ordinal();
+    }
+
+    private static String nullToEmpty(String value) {
+        return (value != null) ? value : "";
+    }
+}
@@ -0,0 +1,11 @@
+package com.pjy008008.j_community.search;
+
+import com.pjy008008.j_community.model.SearchHitType;
+import com.pjy008008.j_community.support.SearchCursor;
+
+public record SearchIndexHit(SearchHitType type, Long id, Long postId, float score, long sortKey) {
+
+    public SearchCursor cursor() {
+        return new SearchCursor(score, sortKey);
+    }
+}
@@ -0,0 +1,135 @@
+package com.pjy008008.j_community.search;
+
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.event.CommentDeletedEvent;
+import com.pjy008008.j_community.event.CommentSavedEvent;
+import com.pjy008008.j_community.event.CommunityChangedEvent;
+import com.pjy008008.j_community.event.PostCreatedEvent;
+import com.pjy008008.j_community.event.PostDeletedEvent;
+import com.pjy008008.j_community.event.PostUpdatedEvent;
+import com.pjy008008.j_community.event.UserWithdrawnEvent;
+import com.pjy008008.j_community.model.SearchHitType;
+import com.pjy008008.j_community.repository.CommentRepository;
+import com.pjy008008.j_community.repository.CommunityRepository;
+import com.pjy008008.j_community.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+// 커밋된 게시글/댓글 변경을 검색 색인에 반영한다.
+// 커밋 이후에 실행되므로 색인 실패가 요청을 실패시키지 않고, 로그만 남긴다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexer {
+
+    private final SearchIndex searchIndex;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CommunityRepository communityRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${search.index.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPostCreated(PostCreatedEvent event) {
+        indexPost(event.postId());
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        indexPost(event.postId());
+    }
+
+    @TransactionalEventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        safely(() -> searchIndex.deletePost(event.postId()));
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCommentSaved(CommentSavedEvent event) {
+        commentRepository.findById(event.commentId())
+                .ifPresent(comment -> safely(() -> searchIndex.indexComment(comment)));
+    }
+
+    @TransactionalEventListener
+    public void onCommentDeleted(CommentDeletedEvent event) {
+        safely(() -> searchIndex.delete(SearchHitType.COMMENT, event.commentIds()));
+    }
+
+    // 커뮤니티 삭제 시 cascade로 지워진 게시글/댓글 문서를 정리
+    @TransactionalEventListener
+    public void onCommunityChanged(CommunityChangedEvent event) {
+        if (!communityRepository.existsById(event.communityId())) {
+            safely(() -> searchIndex.deleteCommunity(event.communityId()));
+        }
+    }
+
+    // 탈퇴한 회원의 글/댓글은 cascade로 지워져 개별 삭제 이벤트가 없다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserWithdrawn(UserWithdrawnEvent event) {
+        safely(() -> searchIndex.deleteAuthor(event.userId()));
+    }
+
+    // 색인 디렉터리가 비어 있거나(최초 기동, 디렉터리 삭제) 문서 필드 구성이 바뀌었으면 DB에서 다시 만든다
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        if (!searchIndex.isCurrentSchema() || (searchIndex.numDocs() == 0 && postRepository.count() > 0)) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        searchIndex.deleteAll();
+        int posts = indexInBatches(postRepository.findMaxId(), postRepository::findByIdBetween, searchIndex::indexPost);
+        int comments = indexInBatches(commentRepository.findMaxId(), commentRepository::findWithPostByIdBetween, searchIndex::indexComment);
+        searchIndex.markCurrentSchema();
+        searchIndex.commit();
+        searchIndex.refresh();
+        log.info("Rebuilt search index: posts={}, comments={}", posts, comments);
+    }
+
+    private <T> int indexInBatches(long maxId, BiFunction<Long, Long, List<T>> loadRange, Consumer<T> index) {
+        int indexed = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += rebuildBatchSize) {
+            long from = fromId;
+            long to = fromId + rebuildBatchSize - 1;
+            Integer count = transactionTemplate.execute(status -> {
+                List<T> batch = loadRange.apply(from, to);
+                batch.forEach(index);
+                return batch.size();
+            });
+            indexed += (count != null) ? count : 0;
+        }
+        return indexed;
+    }
+
+    private void indexPost(Long postId) {
+        postRepository.findById(postId)
+                .ifPresent(post -> safely(() -> searchIndex.indexPost(post)));
+    }
+
+    private void safely(Runnable indexOperation) {
+        try {
+            indexOperation.run();
+        } catch (RuntimeException e) {
+            log.warn("Failed to update search index", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pjy008008.j_community.security;
+
+import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// 서명된 JWT 클레임으로 만든 인증 주체. 요청마다 users 테이블을 조회하지 않도록 엔티티 대신 SecurityContext에 담는다
+public record AuthUser(Long id, String username, Role role) implements UserDetails {
+
+    public static AuthUser from(User user) {
+        return new AuthUser(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    // 토큰으로 인증하므로 비밀번호는 들고 있지 않는다
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
@@ -1,6 +1,10 @@
 package com.pjy008008.j_community.security;
 
+import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.model.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,51 +14,72 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.function.Function;
 
+// 서명 키와 파서는 한 번만 만들어 재사용한다 (둘 다 스레드 안전)
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    // iat는 초 단위라 폐기와 같은 초에 발급된 토큰을 구분하지 못하므로 밀리초 발급 시각을 따로 싣는다
+    private static final String CLAIM_ISSUED_AT_MS = "iat_ms";
 
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationTime;
+    private final TokenDenyList tokenDenyList;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.access-expiration}") long expirationTime,
+            TokenDenyList tokenDenyList
+    ) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expirationTime = expirationTime;
+        this.tokenDenyList = tokenDenyList;
     }
 
-    public String generateToken(String username) {
+    public String generateToken(User user) {
+        long now = tokenDenyList.issuedAtFor(user.getId(), System.currentTimeMillis());
         return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSigningKey())
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_ISSUED_AT_MS, now)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expirationTime))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
-    }
+    // 서명, 만료, 폐기 여부를 한 번의 파싱으로 검증한다. 유효하지 않으면 JwtException을 던진다.
+    // uid/role 클레임이 없는 이전 토큰은 legacyUserLoader로 사용자를 읽고, 읽은 id로 폐기 여부를 확인한다
+    public AuthUser parse(String token, Function<String, AuthUser> legacyUserLoader) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String username = claims.getSubject();
+        if (username == null) {
+            throw new JwtException("Token has no subject");
+        }
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        AuthUser authUser = (userId != null && role != null)
+                ? new AuthUser(userId.longValue(), username, Role.valueOf(role))
+                : legacyUserLoader.apply(username);
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        Long issuedAtMillis = issuedAtMillis(claims);
+        if (issuedAtMillis != null && tokenDenyList.isRevoked(authUser.id(), issuedAtMillis)) {
+            throw new JwtException("Token has been revoked");
+        }
+        return authUser;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // iat_ms가 없는 이전 토큰은 iat(초)의 시작 시각으로 보므로 폐기와 같은 초에 발급됐다면 거절된다
+    private static Long issuedAtMillis(Claims claims) {
+        Number issuedAtMillis = claims.get(CLAIM_ISSUED_AT_MS, Number.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis.longValue();
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return (issuedAt != null) ? issuedAt.getTime() : null;
     }
-}
\ No newline at end of file
+}
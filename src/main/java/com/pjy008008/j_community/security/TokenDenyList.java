@@ -0,0 +1,53 @@
+package com.pjy008008.j_community.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 폐기된 액세스 토큰 목록. 토큰마다 저장하지 않고 사용자 id → 폐기 시각(밀리초)만 두고, 그때까지 발급된 토큰을 거절한다.
+// 액세스 토큰 수명이 지나면 그 이전 토큰은 어차피 만료되므로 항목을 지운다.
+// jwt.access-expiration 이전에 jwt.expiration 수명으로 발급된 토큰이 남아 있을 수 있으므로 둘 중 긴 쪽을 쓴다.
+// 인증 경로에서는 메모리 조회 한 번이며, 폐기된 사용자가 없으면 isEmpty에서 바로 끝난다. 프로세스 단위 목록이다.
+@Component
+public class TokenDenyList {
+
+    private final long ttlMillis;
+    private final Map<Long, Long> revokedAt = new ConcurrentHashMap<>();
+
+    public TokenDenyList(@Value("${jwt.access-expiration}") long accessTokenExpirationMs,
+                         @Value("${jwt.expiration:0}") long legacyExpirationMs) {
+        this.ttlMillis = Math.max(accessTokenExpirationMs, legacyExpirationMs);
+    }
+
+    public void revokeUser(Long userId) {
+        revokedAt.merge(userId, System.currentTimeMillis(), Math::max);
+    }
+
+    // 폐기와 같은 밀리초에 발급된 토큰도 거절한다 (탈취 감지 직전에 공격자가 받은 토큰)
+    public boolean isRevoked(Long userId, long issuedAtMillis) {
+        if (revokedAt.isEmpty() || userId == null) {
+            return false;
+        }
+        Long revoked = revokedAt.get(userId);
+        return revoked != null && issuedAtMillis <= revoked;
+    }
+
+    // 새 토큰의 발급 시각. 폐기와 같은 밀리초라면 폐기 시각 바로 뒤로 미뤄 비밀번호 변경 직후 재발급한 토큰만 통과시킨다
+    public long issuedAtFor(Long userId, long nowMillis) {
+        Long revoked = revokedAt.get(userId);
+        return (revoked != null && revoked >= nowMillis) ? revoked + 1 : nowMillis;
+    }
+
+    public int size() {
+        return revokedAt.size();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.deny-list.evict-interval-ms}")
+    public void evictExpired() {
+        long expiredBefore = System.currentTimeMillis() - ttlMillis;
+        revokedAt.values().removeIf(revoked -> revoked < expiredBefore);
+    }
+}
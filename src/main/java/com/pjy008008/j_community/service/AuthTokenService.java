@@ -0,0 +1,112 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.controller.dto.AuthResponse;
+import com.pjy008008.j_community.entity.RefreshToken;
+import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.exception.InvalidRefreshTokenException;
+import com.pjy008008.j_community.repository.RefreshTokenRepository;
+import com.pjy008008.j_community.repository.UserRepository;
+import com.pjy008008.j_community.security.JwtUtil;
+import com.pjy008008.j_community.security.TokenDenyList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// 짧은 수명의 액세스 토큰(JWT)과 회전하는 리프레시 토큰 발급.
+// 요청 인증은 JWT만으로 끝나고, DB의 리프레시 토큰은 /api/auth/refresh와 logout에서만 본다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AuthTokenService {
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenDenyList tokenDenyList;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    // 로그인마다 새 family를 시작한다. 만료된 토큰은 이때 함께 정리한다
+    @Transactional
+    public AuthResponse issue(User user) {
+        refreshTokenRepository.deleteExpiredByUserId(user.getId(), LocalDateTime.now());
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    // 이미 쓴 토큰이 다시 오면 탈취된 것으로 보고 그 family와 사용자의 액세스 토큰을 모두 폐기한다.
+    // 폐기는 예외를 던져도 커밋되어야 하므로 롤백하지 않는다
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthResponse refresh(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        if (token.isUsed() || refreshTokenRepository.markUsed(token.getId()) == 0) {
+            log.warn("Refresh token reuse detected: userId={}, family={}", token.getUserId(), token.getFamilyId());
+            refreshTokenRepository.deleteFamily(token.getFamilyId());
+            tokenDenyList.revokeUser(token.getUserId());
+            throw new InvalidRefreshTokenException("Refresh token has already been used");
+        }
+        if (token.isExpired(LocalDateTime.now())) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+
+        User user = userRepository.findById(token.getUserId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        return issue(user, token.getFamilyId());
+    }
+
+    // 이 기기(family)의 리프레시 토큰만 지운다. 이미 발급된 액세스 토큰은 짧은 수명이 끝나면 만료된다
+    @Transactional
+    public void logout(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.deleteFamily(token.getFamilyId()));
+    }
+
+    // 탈퇴/비밀번호 변경: 모든 리프레시 토큰을 지우고 이미 발급된 액세스 토큰도 거절한다
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+        tokenDenyList.revokeUser(userId);
+    }
+
+    private AuthResponse issue(User user, String familyId) {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(user.getId())
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plus(refreshExpirationMs, ChronoUnit.MILLIS))
+                .build());
+        return new AuthResponse(jwtUtil.generateToken(user), rawToken);
+    }
+
+    // 토큰 자체가 256비트 난수라 솔트 없이 SHA-256으로 충분하다
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,29 +1,51 @@
 package com.pjy008008.j_community.service;
 
+import com.pjy008008.j_community.cache.CachedCommentPage;
+import com.pjy008008.j_community.cache.CommentPageKey;
+import com.pjy008008.j_community.cache.CommentTreeCache;
+import com.pjy008008.j_community.cache.ContentVersions;
+import com.pjy008008.j_community.cache.VoteStateCache;
 import com.pjy008008.j_community.controller.dto.CommentCreateRequest;
 import com.pjy008008.j_community.controller.dto.CommentResponse;
 import com.pjy008008.j_community.controller.dto.CommentUpdateRequest;
+import com.pjy008008.j_community.controller.dto.CursorResponse;
 import com.pjy008008.j_community.entity.Comment;
 import com.pjy008008.j_community.entity.CommentVote;
 import com.pjy008008.j_community.entity.Post;
 import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.event.CommentDeletedEvent;
+import com.pjy008008.j_community.event.CommentSavedEvent;
+import com.pjy008008.j_community.event.CommentVotedEvent;
+import com.pjy008008.j_community.event.PostCommentCountChangedEvent;
+import com.pjy008008.j_community.exception.DuplicateResourceException;
+import com.pjy008008.j_community.exception.InvalidCursorException;
+import com.pjy008008.j_community.exception.ReplyTooDeepException;
 import com.pjy008008.j_community.exception.ResourceNotFoundException;
+import com.pjy008008.j_community.model.CommentSort;
 import com.pjy008008.j_community.model.NotificationType;
 import com.pjy008008.j_community.model.VoteType;
 import com.pjy008008.j_community.repository.CommentRepository;
+import com.pjy008008.j_community.repository.CommentRow;
 import com.pjy008008.j_community.repository.CommentVoteRepository;
 import com.pjy008008.j_community.repository.PostRepository;
 import com.pjy008008.j_community.repository.UserRepository;
+import com.pjy008008.j_community.support.CommentCursor;
+import com.pjy008008.j_community.support.CommentPath;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,39 +53,139 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class CommentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_THREAD_DEPTH = 10;
+    private static final int MAX_REPLY_LIMIT = 100;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final CommentVoteRepository commentVoteRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentVersions contentVersions;
+    private final VoteAggregator voteAggregator;
+    private final VoteStateCache voteStateCache;
+    private final CommentTreeCache commentTreeCache;
+
+    // 최상위 댓글을 keyset으로 size개씩 읽고, 그 하위 트리를 한 번의 (root_id, path) 범위 조회로 depth 단계까지 붙인다.
+    // 조립한 페이지는 조회자와 무관하게 CommentTreeCache에 보관하고, myVote만 조회자별로 덧씌운다.
+    // 캐시 적중 시 커넥션을 잡지 않도록 트랜잭션 없이 실행한다 (읽기 전용 조회라 쿼리마다 따로 실행돼도 된다)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorResponse<CommentResponse> getCommentsByPost(Long postId, CommentSort sort, String cursor,
+                                                             int size, int depth, int replyLimit, String username) {
+        CommentPageKey key = new CommentPageKey(
+                sort, cursor, clampPageSize(size), clampDepth(depth), clampReplyLimit(replyLimit));
+
+        CachedCommentPage page = commentTreeCache.get(postId, key).orElse(null);
+        if (page == null) {
+            long version = commentTreeCache.version(postId);
+            page = CachedCommentPage.encode(loadCommentsByPost(postId, key));
+            commentTreeCache.put(postId, key, page, version);
+        }
+        return page.toResponse(findUserVotes(page.ids(), username));
+    }
 
-    public List<CommentResponse> getCommentsByPost(Long postId, String username) {
+    private CursorResponse<CommentResponse> loadCommentsByPost(Long postId, CommentPageKey key) {
         if (!postRepository.existsById(postId)) {
             throw new ResourceNotFoundException("Post not found with id: " + postId);
         }
-        List<Comment> topLevelComments = commentRepository.findByPostIdAndParentIsNullOrderByCreatedAtAsc(postId);
+        CommentCursor position = resolveCursor(key.cursor(), key.sort(), null);
 
-        Map<Long, VoteType> userVotes = Collections.emptyMap();
+        Window<Comment> page = commentRepository.findByPostIdAndParentIsNull(
+                postId, position.toScrollPosition(), position.toSort(), Limit.of(key.size()));
+        List<Long> rootIds = page.getContent().stream().map(Comment::getId).toList();
+        List<CommentRow> rows = rootIds.isEmpty()
+                ? List.of()
+                : commentRepository.findTreeRowsByRootIdIn(rootIds, key.depth(), position.toSort());
 
-        if (username != null) {
-            User user = userRepository.findByUsername(username)
-                    .orElse(null);
+        return toThreadPage(page, rows, position, key.depth(), key.replies(), Collections.emptyMap());
+    }
 
-            if (user != null) {
-                List<CommentVote> votes = commentVoteRepository.findByUserIdAndComment_Post_Id(user.getId(), postId);
+    // "답글 더 보기"/"스레드 이어 보기": 한 댓글의 답글을 cursor 뒤에서부터 읽고, 부모의 하위 트리 구간에서 그 아래를 붙인다
+    public CursorResponse<CommentResponse> getReplies(Long commentId, CommentSort sort, String cursor,
+                                                      int size, int depth, int replyLimit, String username) {
+        Comment parent = findCommentById(commentId);
+        CommentCursor position = resolveCursor(cursor, sort, commentId);
+        int maxDepth = clampDepth(depth);
+
+        Window<Comment> page = commentRepository.findByParentId(
+                commentId, position.toScrollPosition(), position.toSort(), Limit.of(clampPageSize(size)));
+        List<String> childPaths = page.getContent().stream().map(Comment::getPath).toList();
+        List<CommentRow> rows = childPaths.isEmpty()
+                ? List.of()
+                : commentRepository.findSubtreeRows(
+                        parent.getRootId(),
+                        parent.getPath(),
+                        CommentPath.subtreeUpperBound(parent.getPath()),
+                        parent.getDepth() + 1 + maxDepth,
+                        parent.getPath().length() + CommentPath.SEGMENT_WIDTH,
+                        childPaths,
+                        position.toSort());
+
+        List<Long> commentIds = rows.stream().map(CommentRow::id).toList();
+        return toThreadPage(page, rows, position, maxDepth, clampReplyLimit(replyLimit), findUserVotes(commentIds, username));
+    }
 
-                userVotes = votes.stream()
-                        .collect(Collectors.toMap(
-                                v -> v.getComment().getId(),
-                                CommentVote::getVoteType
-                        ));
-            }
+    private CursorResponse<CommentResponse> toThreadPage(Window<Comment> page, List<CommentRow> rows, CommentCursor position,
+                                                         int maxDepth, int replyLimit, Map<Long, VoteType> userVotes) {
+        List<CommentResponse> content = CommentTreeAssembler.assemble(rows, userVotes, position.sort(), maxDepth, replyLimit);
+
+        List<Comment> anchors = page.getContent();
+        String nextCursor = page.hasNext()
+                ? CommentCursor.after(position.sort(), position.parentId(), anchors.get(anchors.size() - 1)).encode()
+                : null;
+        return new CursorResponse<>(content, nextCursor, nextCursor != null);
+    }
+
+    // 커서에는 정렬이 함께 담겨 있으므로 이어 읽을 때는 커서의 정렬을 따른다
+    private CommentCursor resolveCursor(String cursor, CommentSort sort, Long parentId) {
+        if (!StringUtils.hasText(cursor)) {
+            return CommentCursor.start(sort, parentId);
         }
+        CommentCursor position = CommentCursor.decode(cursor);
+        if (!Objects.equals(position.parentId(), parentId)) {
+            throw new InvalidCursorException("Cursor does not belong to this comment list: " + cursor);
+        }
+        return position;
+    }
 
-        Map<Long, VoteType> finalUserVotes = userVotes;
-        return topLevelComments.stream()
-                .map(comment -> CommentResponse.from(comment, finalUserVotes))
-                .collect(Collectors.toList());
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private int clampDepth(int depth) {
+        return Math.max(0, Math.min(depth, MAX_THREAD_DEPTH));
+    }
+
+    private int clampReplyLimit(int replyLimit) {
+        return Math.max(0, Math.min(replyLimit, MAX_REPLY_LIMIT));
+    }
+
+    private Map<Long, VoteType> findUserVotes(List<Long> commentIds, String username) {
+        if (username == null || commentIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return voteStateCache.commentVotes(username, commentIds, missing -> loadUserVotes(missing, username));
+    }
+
+    private Map<Long, VoteType> loadUserVotes(List<Long> commentIds, String username) {
+        Long userId = userRepository.findIdByUsername(username).orElse(null);
+        if (userId == null) {
+            return Collections.emptyMap();
+        }
+
+        return commentVoteRepository.findByUserIdAndCommentIdIn(userId, commentIds).stream()
+                .collect(Collectors.toMap(
+                        v -> v.getComment().getId(),
+                        CommentVote::getVoteType
+                ));
+    }
+
+    // 메모리 버전 스탬프만 읽으므로 트랜잭션(커넥션)을 열지 않는다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String commentsETag(Long postId, CommentSort sort, String cursor, int size, int depth, int replyLimit, String username) {
+        return contentVersions.commentsETag(postId, username, sort, cursor, size, depth, replyLimit);
     }
 
     @Transactional
@@ -79,11 +201,16 @@ public class CommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(newComment);
+        savedComment.assignPath();
+        postRepository.updateCommentCount(post.getId(), 1);
+        eventPublisher.publishEvent(new PostCommentCountChangedEvent(post.getId(), 1));
+        eventPublisher.publishEvent(new CommentSavedEvent(savedComment.getId(), post.getId()));
 
         notificationService.send(
-                post.getAuthor(),
-                author,
+                post.getAuthor().getId(),
+                author.getId(),
                 NotificationType.COMMENT,
+                post.getId(),
                 request.content()
         );
         return CommentResponse.from(savedComment);
@@ -97,6 +224,10 @@ public class CommentService {
 
         Post post = parentComment.getPost();
 
+        if (parentComment.getDepth() >= CommentPath.MAX_DEPTH) {
+            throw new ReplyTooDeepException("Reply thread is too deep: " + parentCommentId);
+        }
+
         Comment reply = Comment.builder()
                 .content(request.content())
                 .author(author)
@@ -105,11 +236,17 @@ public class CommentService {
                 .build();
 
         Comment savedReply = commentRepository.save(reply);
+        savedReply.assignPath();
+        commentRepository.addReplyCount(parentCommentId, 1);
+        postRepository.updateCommentCount(post.getId(), 1);
+        eventPublisher.publishEvent(new PostCommentCountChangedEvent(post.getId(), 1));
+        eventPublisher.publishEvent(new CommentSavedEvent(savedReply.getId(), post.getId()));
 
         notificationService.send(
-                parentComment.getAuthor(),
-                author,
+                parentComment.getAuthor().getId(),
+                author.getId(),
                 NotificationType.REPLY,
+                parentCommentId,
                 request.content()
         );
 
@@ -123,6 +260,7 @@ public class CommentService {
         validateAuthor(comment, username);
 
         comment.update(request.content());
+        eventPublisher.publishEvent(new CommentSavedEvent(commentId, comment.getPost().getId()));
 
         return CommentResponse.from(comment);
     }
@@ -133,46 +271,84 @@ public class CommentService {
 
         validateAuthor(comment, username);
 
-        commentRepository.delete(comment);
+        // 하위 트리는 path 범위 하나로 지운다. replies 컬렉션을 따라 cascade하면 하위 댓글을 전부 로딩하게 된다
+        Long rootId = comment.getRootId();
+        String fromPath = comment.getPath();
+        String toPath = CommentPath.subtreeUpperBound(fromPath);
+        List<Long> removedIds = commentRepository.findSubtreeIds(rootId, fromPath, toPath);
+        Long postId = comment.getPost().getId();
+        Comment parent = comment.getParent();
+        commentVoteRepository.deleteBySubtree(rootId, fromPath, toPath);
+        commentRepository.detachSubtree(rootId, fromPath, toPath);
+        commentRepository.deleteSubtree(rootId, fromPath, toPath);
+        if (parent != null) {
+            commentRepository.addReplyCount(parent.getId(), -1);
+        }
+        postRepository.updateCommentCount(postId, -removedIds.size());
+        eventPublisher.publishEvent(new PostCommentCountChangedEvent(postId, -removedIds.size()));
+        eventPublisher.publishEvent(new CommentDeletedEvent(postId, removedIds));
     }
 
     @Transactional
     public int voteComment(Long commentId, VoteType voteType, String username) {
-        User user = findUserByUsername(username);
-        Comment comment = findCommentById(commentId);
-
-        Optional<CommentVote> existingVote = commentVoteRepository.findByUserIdAndCommentId(user.getId(), commentId);
-
-        if (existingVote.isPresent()) {
-            CommentVote vote = existingVote.get();
-
-            if (vote.getVoteType() == voteType) {
-                comment.updateVotes(-voteType.getValue());
-                commentVoteRepository.delete(vote);
-            } else {
-                comment.updateVotes(-vote.getVoteType().getValue() + voteType.getValue());
-                vote.updateVoteType(voteType);
-            }
-        } else {
-            comment.updateVotes(voteType.getValue());
-            CommentVote newVote = CommentVote.builder()
-                    .user(user)
-                    .comment(comment)
-                    .voteType(voteType)
-                    .build();
-            commentVoteRepository.save(newVote);
+        Long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
+        VoteType previous;
+        VoteType myVote;
+        if (commentVoteRepository.deleteIfSameType(userId, commentId, voteType) > 0) {
+            previous = voteType;
+            myVote = null;
+        } else if (commentVoteRepository.switchIfOtherType(userId, commentId, voteType) > 0) {
+            previous = (voteType == VoteType.UP) ? VoteType.DOWN : VoteType.UP;
+            myVote = voteType;
+        } else if (commentVoteRepository.insertIfAbsent(userId, commentId, voteType) > 0) {
+            previous = null;
+            myVote = voteType;
             if (voteType == VoteType.UP) {
+                Comment comment = commentRepository.getReferenceById(commentId);
                 notificationService.send(
-                        comment.getAuthor(),
-                        user,
+                        comment.getAuthor().getId(),
+                        userId,
                         NotificationType.UPVOTE_COMMENT,
+                        commentId,
                         comment.getContent()
                 );
             }
+        } else if (!commentRepository.existsById(commentId)) {
+            throw new ResourceNotFoundException("Comment not found: " + commentId);
+        } else {
+            throw new DuplicateResourceException("Vote was changed concurrently");
+        }
+
+        int upDelta = (myVote == VoteType.UP ? 1 : 0) - (previous == VoteType.UP ? 1 : 0);
+        int downDelta = (myVote == VoteType.DOWN ? 1 : 0) - (previous == VoteType.DOWN ? 1 : 0);
+
+        // write-behind 모드에서는 점수 변화를 VoteAggregator에 넘기고, 응답에는 반영 대기 중인 값까지 더해 보여준다
+        CommentRepository.VoteScore score;
+        int votes;
+        if (voteAggregator.isEnabled()) {
+            int[] pending = new int[1];
+            score = voteAggregator.readWithPending(() -> {
+                pending[0] = voteAggregator.pendingCommentDelta(commentId);
+                return findVoteScore(commentId);
+            });
+            votes = score.getVotes() + pending[0] + upDelta - downDelta;
+            voteAggregator.addCommentDeltaAfterCommit(commentId, score.getPostId(), upDelta, downDelta);
+        } else {
+            commentRepository.addVotes(commentId, upDelta, downDelta);
+            commentRepository.refreshRanking(commentId);
+            score = findVoteScore(commentId);
+            votes = score.getVotes();
         }
 
-        return comment.getVotes();
+        eventPublisher.publishEvent(new CommentVotedEvent(commentId, score.getPostId(), votes, username, myVote));
+        return votes;
+    }
+
+    private CommentRepository.VoteScore findVoteScore(Long commentId) {
+        return commentRepository.findVoteScoreById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found: " + commentId));
     }
 
     private void validateAuthor(Comment comment, String username) {
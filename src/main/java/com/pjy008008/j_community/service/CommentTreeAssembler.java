@@ -0,0 +1,122 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.controller.dto.CommentResponse;
+import com.pjy008008.j_community.model.CommentSort;
+import com.pjy008008.j_community.model.VoteType;
+import com.pjy008008.j_community.repository.CommentRow;
+import com.pjy008008.j_community.support.CommentCursor;
+import com.pjy008008.j_community.support.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// 평면으로 읽은 댓글 행들을 O(n)에 트리로 조립한다.
+// id → 행 인덱스는 primitive 맵으로, 자식 목록은 int 배열 연결 리스트로 표현해 노드별 컬렉션을 만들지 않는다.
+// 부모가 결과에 없는 행(최상위 댓글 또는 답글 페이지의 항목)이 기준 노드가 되고, 형제 순서는 조회 순서(정렬 키)를 따른다.
+final class CommentTreeAssembler {
+
+    private static final int NONE = -1;
+
+    private CommentTreeAssembler() {
+    }
+
+    // 기준 노드 아래로 maxDepth 단계까지, 노드마다 답글 replyLimit개까지 담는다.
+    // 잘린 답글은 마지막으로 담은 답글 뒤에서, 깊이 제한에 걸렸거나 하나도 담지 못한 스레드는 처음부터 이어 읽는 커서를 남긴다.
+    static List<CommentResponse> assemble(List<CommentRow> rows, Map<Long, VoteType> userVotes,
+                                          CommentSort sort, int maxDepth, int replyLimit) {
+        int n = rows.size();
+        LongIntHashMap indexById = new LongIntHashMap(n);
+        for (int i = 0; i < n; i++) {
+            indexById.put(rows.get(i).id(), i);
+        }
+
+        int[] firstChild = new int[n];
+        int[] lastChild = new int[n];
+        int[] nextSibling = new int[n];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+
+        int firstAnchor = NONE;
+        int lastAnchor = NONE;
+        for (int i = 0; i < n; i++) {
+            Long parentId = rows.get(i).parentId();
+            int parent = (parentId != null) ? indexById.get(parentId) : LongIntHashMap.MISSING;
+            if (parent == LongIntHashMap.MISSING) {
+                if (firstAnchor == NONE) {
+                    firstAnchor = i;
+                } else {
+                    nextSibling[lastAnchor] = i;
+                }
+                lastAnchor = i;
+            } else {
+                if (firstChild[parent] == NONE) {
+                    firstChild[parent] = i;
+                } else {
+                    nextSibling[lastChild[parent]] = i;
+                }
+                lastChild[parent] = i;
+            }
+        }
+
+        // BFS로 담을 노드만 고른다. 잘린 답글의 하위 트리는 방문하지 않는다
+        int[] order = new int[n];
+        int[] level = new int[n];
+        int[] lastShown = new int[n];
+        boolean[] truncated = new boolean[n];
+        int tail = 0;
+        for (int anchor = firstAnchor; anchor != NONE; anchor = nextSibling[anchor]) {
+            order[tail++] = anchor;
+        }
+        for (int head = 0; head < tail; head++) {
+            int node = order[head];
+            int shown = 0;
+            lastShown[node] = NONE;
+            if (level[node] == maxDepth) {
+                continue;
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (shown == replyLimit) {
+                    truncated[node] = true;
+                    break;
+                }
+                level[child] = level[node] + 1;
+                order[tail++] = child;
+                lastShown[node] = child;
+                shown++;
+            }
+        }
+
+        // BFS 순서를 거꾸로 처리하면 자식 응답이 항상 부모보다 먼저 만들어진다 (깊은 스레드에서도 재귀 없음)
+        CommentResponse[] built = new CommentResponse[n];
+        for (int k = tail - 1; k >= 0; k--) {
+            int node = order[k];
+            CommentRow row = rows.get(node);
+
+            List<CommentResponse> replies = new ArrayList<>();
+            if (lastShown[node] != NONE) {
+                for (int child = firstChild[node]; ; child = nextSibling[child]) {
+                    replies.add(built[child]);
+                    if (child == lastShown[node]) {
+                        break;
+                    }
+                }
+            }
+
+            String moreReplies = null;
+            if (truncated[node] && lastShown[node] != NONE) {
+                moreReplies = CommentCursor.after(sort, row.id(), rows.get(lastShown[node])).encode();
+            } else if (truncated[node] || (level[node] == maxDepth && row.replyCount() > 0)) {
+                moreReplies = CommentCursor.start(sort, row.id()).encode();
+            }
+            built[node] = CommentResponse.of(row, userVotes.get(row.id()), replies, moreReplies);
+        }
+
+        List<CommentResponse> anchors = new ArrayList<>();
+        for (int anchor = firstAnchor; anchor != NONE; anchor = nextSibling[anchor]) {
+            anchors.add(built[anchor]);
+        }
+        return anchors;
+    }
+}
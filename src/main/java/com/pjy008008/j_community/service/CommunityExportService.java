@@ -0,0 +1,83 @@
+package com.pjy008008.j_community.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pjy008008.j_community.controller.dto.CommunityExportLine;
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.entity.Community;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.exception.ResourceNotFoundException;
+import com.pjy008008.j_community.repository.CommentRepository;
+import com.pjy008008.j_community.repository.CommunityRepository;
+import com.pjy008008.j_community.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// 커뮤니티 전체를 NDJSON으로 내보낸다.
+// 목록을 메모리에 모으지 않고 forward-only 커서(Stream)로 한 행씩 읽어 바로 쓰며,
+// 영속성 컨텍스트를 주기적으로 비워 커뮤니티 크기와 관계없이 메모리 사용량이 일정하다.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CommunityExportService {
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final CommunityRepository communityRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // 스트리밍을 시작하기 전에 요청 스레드에서 404를 판별하기 위해 사용
+    public Long findCommunityId(String communityName) {
+        return communityRepository.findByName(communityName)
+                .map(Community::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Community not found with name: " + communityName));
+    }
+
+    public void export(Long communityId, OutputStream out) throws IOException {
+        Community community = communityRepository.findById(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException("Community not found with id: " + communityId));
+
+        // writeValue가 매 줄마다 스트림을 닫지 않도록 AUTO_CLOSE_TARGET을 끈다
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        OutputStream buffered = new BufferedOutputStream(out);
+
+        writeLine(writer, buffered, CommunityExportLine.CommunityLine.from(community));
+        try (Stream<Post> posts = postRepository.streamByCommunityId(communityId)) {
+            writeAll(posts, CommunityExportLine.PostLine::from, writer, buffered);
+        }
+        try (Stream<Comment> comments = commentRepository.streamByCommunityId(communityId)) {
+            writeAll(comments, CommunityExportLine.CommentLine::from, writer, buffered);
+        }
+        buffered.flush();
+    }
+
+    private <T> void writeAll(Stream<T> rows, Function<T, CommunityExportLine> toLine,
+                              ObjectWriter writer, OutputStream out) throws IOException {
+        int written = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writeLine(writer, out, toLine.apply(iterator.next()));
+            if (++written % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+    }
+
+    private void writeLine(ObjectWriter writer, OutputStream out, CommunityExportLine line) throws IOException {
+        writer.writeValue(out, line);
+        out.write('\n');
+    }
+}
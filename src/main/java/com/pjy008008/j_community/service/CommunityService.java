@@ -5,11 +5,13 @@ import com.pjy008008.j_community.controller.dto.CommunityResponse;
 import com.pjy008008.j_community.controller.dto.CommunityUpdateRequest;
 import com.pjy008008.j_community.entity.Community;
 import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.event.CommunityChangedEvent;
 import com.pjy008008.j_community.exception.DuplicateResourceException;
 import com.pjy008008.j_community.exception.ResourceNotFoundException;
 import com.pjy008008.j_community.repository.CommunityRepository;
 import com.pjy008008.j_community.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,8 @@ public class CommunityService {
 
     private final CommunityRepository communityRepository;
     private final UserRepository userRepository;
+    private final TimelineService timelineService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 커뮤니티 생성, 관리자 전용
     @Transactional
@@ -58,6 +62,7 @@ public class CommunityService {
         }
 
         community.update(request.name(), request.description(), request.colorTheme());
+        eventPublisher.publishEvent(new CommunityChangedEvent(communityId));
 
         return CommunityResponse.from(community);
     }
@@ -69,6 +74,8 @@ public class CommunityService {
             throw new ResourceNotFoundException("Community not found with id: " + communityId);
         }
         communityRepository.deleteById(communityId);
+        timelineService.removeCommunity(communityId);
+        eventPublisher.publishEvent(new CommunityChangedEvent(communityId));
     }
 
     public List<CommunityResponse> getAllCommunities() {
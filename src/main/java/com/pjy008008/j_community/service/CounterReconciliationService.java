@@ -0,0 +1,154 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.event.CountersReconciledEvent;
+import com.pjy008008.j_community.repository.CommentRepository;
+import com.pjy008008.j_community.repository.CommunityRepository;
+import com.pjy008008.j_community.repository.PostRepository;
+import com.pjy008008.j_community.repository.PostViewSketchRepository;
+import com.pjy008008.j_community.repository.TimelineEntryRepository;
+import com.pjy008008.j_community.support.CommentPath;
+import com.pjy008008.j_community.support.HotRank;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+// 회원 탈퇴 등 cascade 삭제로 어긋난 비정규화 카운터와 FK 없는 타임라인 항목/조회자 스케치를 id 범위 단위로 보정
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounterReconciliationService {
+
+    // 상대 갱신(log10 차이)을 거듭하며 생기는 부동소수점 오차는 고치지 않는다
+    private static final double HOT_RANK_TOLERANCE = 1e-6;
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CommunityRepository communityRepository;
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final PostViewSketchRepository postViewSketchRepository;
+    private final TimelineService timelineService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${counter.reconcile.batch-size}")
+    private int batchSize;
+
+    @Scheduled(
+            initialDelayString = "${counter.reconcile.initial-delay-ms}",
+            fixedDelayString = "${counter.reconcile.interval-ms}"
+    )
+    public void reconcile() {
+        int comments = reconcileInBatches(postRepository.findMaxId(), postRepository::reconcileCommentCounts);
+        int replies = reconcileInBatches(commentRepository.findMaxId(), commentRepository::reconcileReplyCounts);
+
+        long maxCommunityId = communityRepository.findMaxId();
+        int posts = reconcileInBatches(maxCommunityId, communityRepository::reconcilePostCounts);
+        int members = reconcileInBatches(maxCommunityId, (fromId, toId) -> {
+            // 보정으로 fan-out 임계치 이하가 되는 커뮤니티는 pull 모드 동안의 글을 멤버 타임라인에 채운다
+            List<Long> leavingPullMode = timelineService.findCommunitiesLeavingPullMode(fromId, toId);
+            int updated = communityRepository.reconcileMemberCounts(fromId, toId);
+            leavingPullMode.forEach(timelineService::backfillMembers);
+            return updated;
+        });
+        int timelineOrphans = reconcileInBatches(timelineEntryRepository.findMaxId(), timelineEntryRepository::deleteOrphanedBetween);
+        int sketchOrphans = reconcileInBatches(postViewSketchRepository.findMaxPostId(), postViewSketchRepository::deleteOrphanedBetween);
+
+        if (comments + replies + posts + members > 0) {
+            eventPublisher.publishEvent(new CountersReconciledEvent());
+        }
+        if (comments + replies + posts + members + timelineOrphans + sketchOrphans > 0) {
+            log.info("Repaired counters: post.commentCount={}, comment.replyCount={}, community.postCount={}, community.memberCount={}, " +
+                            "orphaned timeline entries={}, orphaned view sketches={}",
+                    comments, replies, posts, members, timelineOrphans, sketchOrphans);
+        }
+    }
+
+    // hot_rank 컬럼이 추가되기 전의 게시글은 0으로 채워졌고, 이후 투표는 득표 항만 상대값으로 고치므로
+    // 작성 시각 항이 빠진 채로 남는다. 저장된 값이 HotRank.of와 다르면 다시 계산해 넣는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillHotRanks() {
+        int backfilled = reconcileInBatches(postRepository.findMaxId(), (fromId, toId) -> {
+            int updated = 0;
+            for (PostRepository.RankedPost post : postRepository.findRankedBetween(fromId, toId)) {
+                double hotRank = HotRank.of(post.getVotes(), post.getCreatedAt());
+                if (Math.abs(post.getHotRank() - hotRank) > HOT_RANK_TOLERANCE) {
+                    updated += postRepository.assignHotRank(post.getId(), post.getVotes(), hotRank);
+                }
+            }
+            return updated;
+        });
+
+        if (backfilled > 0) {
+            eventPublisher.publishEvent(new CountersReconciledEvent());
+            log.info("Backfilled post hot ranks: posts={}", backfilled);
+        }
+    }
+
+    // best/controversial 정렬 컬럼이 추가되기 전에 쌓인 댓글 투표로 추천/비추천 수와 정렬 키를 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCommentRankings() {
+        int backfilled = reconcileInBatches(commentRepository.findMaxId(), (fromId, toId) -> {
+            int updated = commentRepository.backfillVoteCounts(fromId, toId);
+            if (updated > 0) {
+                commentRepository.refreshRankingBetween(fromId, toId);
+            }
+            return updated;
+        });
+
+        if (backfilled > 0) {
+            eventPublisher.publishEvent(new CountersReconciledEvent());
+            log.info("Backfilled comment vote counts and ranking keys: comments={}", backfilled);
+        }
+    }
+
+    // path 컬럼이 추가되기 전의 댓글에 트리 위치를 채운다. 부모가 먼저 채워져야 하므로 id 순으로 batch씩 반복한다
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCommentPaths() {
+        int backfilled = 0;
+        while (true) {
+            Integer assigned = transactionTemplate.execute(status -> {
+                List<CommentRepository.PathlessComment> pathless = commentRepository.findPathless(Limit.of(batchSize));
+                for (CommentRepository.PathlessComment comment : pathless) {
+                    boolean root = comment.getParentPath() == null;
+                    commentRepository.assignPath(
+                            comment.getId(),
+                            CommentPath.of(comment.getParentPath(), comment.getId()),
+                            root ? 0 : comment.getParentDepth() + 1,
+                            root ? comment.getId() : comment.getParentRootId());
+                }
+                return pathless.size();
+            });
+            if (assigned == null || assigned == 0) {
+                break;
+            }
+            backfilled += assigned;
+        }
+
+        if (backfilled > 0) {
+            int replies = reconcileInBatches(commentRepository.findMaxId(), commentRepository::reconcileReplyCounts);
+            eventPublisher.publishEvent(new CountersReconciledEvent());
+            log.info("Backfilled comment tree paths: comments={}, replyCounts={}", backfilled, replies);
+        }
+    }
+
+    private int reconcileInBatches(long maxId, BiFunction<Long, Long, Integer> reconcileRange) {
+        int repaired = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+            long from = fromId;
+            long to = fromId + batchSize - 1;
+            Integer updated = transactionTemplate.execute(status -> reconcileRange.apply(from, to));
+            repaired += (updated != null) ? updated : 0;
+        }
+        return repaired;
+    }
+}
@@ -1,5 +1,6 @@
 package com.pjy008008.j_community.service;
 
+import com.pjy008008.j_community.entity.User;
 import com.pjy008008.j_community.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +16,10 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return loadUser(username);
+    }
+
+    public User loadUser(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
@@ -0,0 +1,138 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.controller.dto.NotificationPipelineStats;
+import com.pjy008008.j_community.event.NotificationRequestedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 알림 저장 파이프라인. 요청 트랜잭션이 커밋된 뒤에만 bounded 큐에 넣고,
+// 가상 스레드 하나가 큐를 비우며 batch-size개씩 JDBC 배치로 INSERT한다. 투표/댓글 요청은 알림 INSERT를 기다리지 않는다.
+// 큐가 가득 차면 offer-timeout-ms만큼 기다리고, 그래도 자리가 없으면 커밋한 요청 스레드가 직접 저장한다 (알림을 버리지 않고 생산 속도를 늦춘다).
+// 저장에 실패한 배치는 재시도하지 않고 failed로 센다.
+// 알림 합치기는 기존 행을 읽고 고쳐 쓰므로 워커와 요청 스레드의 직접 저장이 겹치지 않게 writeLock으로 직렬화한다.
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private final NotificationService notificationService;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final BlockingQueue<NotificationRequestedEvent> queue;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public NotificationDispatcher(
+            NotificationService notificationService,
+            @Value("${notification.queue.capacity}") int capacity,
+            @Value("${notification.queue.offer-timeout-ms}") long offerTimeoutMs,
+            @Value("${notification.batch-size}") int batchSize
+    ) {
+        this.notificationService = notificationService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofVirtual().name("notification-writer").start(this::drainLoop);
+    }
+
+    @TransactionalEventListener
+    public void onNotificationRequested(NotificationRequestedEvent event) {
+        try {
+            if (queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.increment();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        callerRuns.increment();
+        write(List.of(event));
+    }
+
+    public NotificationPipelineStats stats() {
+        return new NotificationPipelineStats(
+                queue.size(),
+                queue.size() + queue.remainingCapacity(),
+                enqueued.sum(),
+                written.sum(),
+                batches.sum(),
+                callerRuns.sum(),
+                failed.sum()
+        );
+    }
+
+    // 종료 시에는 새 알림을 받지 않고 큐에 남은 것까지 저장한 뒤 멈춘다
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+        }
+        List<NotificationRequestedEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    private void drainLoop() {
+        List<NotificationRequestedEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationRequestedEvent first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<NotificationRequestedEvent> notifications) {
+        writeLock.lock();
+        try {
+            notificationService.saveAll(notifications);
+            written.add(notifications.size());
+            batches.increment();
+        } catch (RuntimeException e) {
+            failed.add(notifications.size());
+            log.warn("Failed to write {} notifications", notifications.size(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.cache.UnreadCountCache;
+import com.pjy008008.j_community.controller.dto.NotificationRetentionStats;
+import com.pjy008008.j_community.repository.NotificationActorRepository;
+import com.pjy008008.j_community.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 보관 기한이 지난 알림 삭제. 읽은 알림은 read-days, 안 읽은 알림은 unread-days(0이면 보관) 뒤에 지운다.
+// 한 번에 지우지 않고 만료된 알림이 있는 id부터 batch-size 범위씩 각각의 트랜잭션으로 지우며, 범위 사이에 batch-pause-ms만큼 쉬어
+// 알림 저장/조회와 락을 오래 다투지 않게 한다. 다음 범위는 지운 범위 뒤의 첫 만료 알림에서 시작하므로
+// 지울 것이 없는 구간에는 트랜잭션과 대기를 쓰지 않고, 더 이상 만료된 알림이 없으면 멈춘다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationRetentionService {
+
+    // unread-days=0이면 안 읽은 알림은 지우지 않는다 (어떤 알림도 이 시각보다 오래되지 않았다)
+    private static final LocalDateTime KEEP_FOREVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationActorRepository notificationActorRepository;
+    private final UnreadCountCache unreadCountCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.retention.read-days}")
+    private int readDays;
+
+    @Value("${notification.retention.unread-days}")
+    private int unreadDays;
+
+    @Value("${notification.retention.batch-size}")
+    private int batchSize;
+
+    @Value("${notification.retention.batch-pause-ms}")
+    private long batchPauseMs;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder purgedRead = new LongAdder();
+    private final LongAdder purgedUnread = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+    private final AtomicLong maxBatchNanos = new AtomicLong();
+    private volatile long lastRunPurged;
+    private volatile long lastRunMillis;
+
+    @Scheduled(
+            initialDelayString = "${notification.retention.initial-delay-ms}",
+            fixedDelayString = "${notification.retention.interval-ms}"
+    )
+    public void purgeExpired() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime readExpiredBefore = now.minusDays(readDays);
+        LocalDateTime unreadExpiredBefore = (unreadDays > 0) ? now.minusDays(unreadDays) : KEEP_FOREVER;
+
+        long read = 0;
+        long unread = 0;
+        Long fromId = notificationRepository.findNextExpiredId(0L, readExpiredBefore, unreadExpiredBefore);
+        while (fromId != null) {
+            long from = fromId;
+            long to = fromId + batchSize - 1;
+
+            long batchStarted = System.nanoTime();
+            int[] deleted = transactionTemplate.execute(status -> {
+                int readDeleted = notificationRepository.deleteExpiredBetween(from, to, true, readExpiredBefore);
+                int unreadDeleted = notificationRepository.deleteExpiredBetween(from, to, false, unreadExpiredBefore);
+                if (readDeleted + unreadDeleted > 0) {
+                    notificationActorRepository.deleteOrphanedBetween(from, to);
+                }
+                return new int[]{readDeleted, unreadDeleted};
+            });
+            recordBatch(System.nanoTime() - batchStarted);
+            read += deleted[0];
+            unread += deleted[1];
+            fromId = notificationRepository.findNextExpiredId(to, readExpiredBefore, unreadExpiredBefore);
+            if (fromId != null && !pause()) {
+                break;
+            }
+        }
+
+        if (unread > 0) {
+            unreadCountCache.invalidateAll();
+        }
+        purgedRead.add(read);
+        purgedUnread.add(unread);
+        runs.increment();
+        lastRunPurged = read + unread;
+        lastRunMillis = (System.nanoTime() - started) / 1_000_000;
+        if (read + unread > 0) {
+            log.info("Purged expired notifications: read={}, unread={}, took={}ms", read, unread, lastRunMillis);
+        }
+    }
+
+    public NotificationRetentionStats stats() {
+        long batchCount = batches.sum();
+        return new NotificationRetentionStats(
+                runs.sum(),
+                batchCount,
+                purgedRead.sum(),
+                purgedUnread.sum(),
+                lastRunPurged,
+                lastRunMillis,
+                (batchCount > 0) ? batchNanos.sum() / 1_000_000d / batchCount : 0d,
+                maxBatchNanos.get() / 1_000_000
+        );
+    }
+
+    private void recordBatch(long nanos) {
+        batches.increment();
+        batchNanos.add(nanos);
+        maxBatchNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // 종료 중 인터럽트되면 false를 반환해 남은 범위는 다음 실행으로 넘긴다
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
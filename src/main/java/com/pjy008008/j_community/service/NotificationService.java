@@ -1,17 +1,44 @@
 package com.pjy008008.j_community.service;
 
+import com.pjy008008.j_community.cache.UnreadCountCache;
+import com.pjy008008.j_community.controller.dto.CursorResponse;
 import com.pjy008008.j_community.controller.dto.NotificationResponse;
 import com.pjy008008.j_community.entity.Notification;
 import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.event.NotificationRequestedEvent;
+import com.pjy008008.j_community.event.NotificationsWrittenEvent;
+import com.pjy008008.j_community.event.UnreadCountChangedEvent;
 import com.pjy008008.j_community.model.NotificationType;
+import com.pjy008008.j_community.repository.NotificationActorRepository;
 import com.pjy008008.j_community.repository.NotificationRepository;
 import com.pjy008008.j_community.repository.UserRepository;
+import com.pjy008008.j_community.support.NotificationCursor;
+import com.pjy008008.j_community.support.NotificationEventId;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,46 +46,281 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class NotificationService {
 
+    private static final String INSERT_NOTIFICATION = "INSERT INTO notifications " +
+            "(type, recipient_id, actor_id, target_id, actor_count, latest_actors, content, is_read, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?)";
+    private static final String INSERT_ACTOR = "INSERT INTO notification_actors (notification_id, actor_id) VALUES (?, ?)";
+    private static final String UPDATE_NOTIFICATION = "UPDATE notifications " +
+            "SET actor_id = ?, actor_count = ?, latest_actors = ?, content = ?, is_read = FALSE, updated_at = ? WHERE id = ?";
+    private static final int MAX_LATEST_ACTORS = 3;
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationActorRepository notificationActorRepository;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadCountCache unreadCountCache;
 
-    @Transactional
-    public void send(User recipient, User actor, NotificationType type, String content) {
-        if (recipient.getId().equals(actor.getId())) {
+    @Value("${notification.coalesce-window-ms}")
+    private long coalesceWindowMs;
+
+    // 요청 트랜잭션 안에서는 이벤트만 발행한다. 커밋된 뒤 NotificationDispatcher가 모아서 저장하므로 롤백되면 보내지 않는다
+    public void send(Long recipientId, Long actorId, NotificationType type, Long targetId, String content) {
+        if (recipientId.equals(actorId)) {
             return;
         }
+        eventPublisher.publishEvent(new NotificationRequestedEvent(type, recipientId, actorId, targetId, content));
+    }
+
+    // 같은 수신자/종류/대상의 알림은 coalesce-window-ms 안에서 한 행으로 합친다 ("alice 외 41명이 추천했습니다").
+    // 배치 안에서 먼저 묶고, 기간 안의 기존 행은 한 번의 조회로 찾아 제자리 UPDATE, 나머지만 INSERT한다.
+    // IDENTITY 키라 saveAll로는 건별 INSERT가 되므로 둘 다 JDBC 배치로 보낸다.
+    // 같은 행을 동시에 고치지 않도록 NotificationDispatcher가 쓰기를 한 스레드씩 직렬화한다.
+    // 커밋 이후 콜백에서 호출되면 이미 끝난 트랜잭션에 참여하지 않도록 항상 새 트랜잭션을 연다
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveAll(List<NotificationRequestedEvent> notifications) {
+        Map<GroupKey, Group> groups = new LinkedHashMap<>();
+        for (NotificationRequestedEvent n : notifications) {
+            groups.computeIfAbsent(GroupKey.of(n), k -> new Group()).add(n);
+        }
+
+        // 스트림이 이 배치의 행을 updatedAt으로 다시 찾으므로 DB 정밀도(마이크로초)에 맞춘다
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Set<Long> targetIds = groups.keySet().stream()
+                .map(GroupKey::targetId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!targetIds.isEmpty()) {
+            List<NotificationRepository.OpenGroup> open = notificationRepository.findOpenGroups(
+                    targetIds, now.minus(coalesceWindowMs, ChronoUnit.MILLIS));
+            Map<Long, Set<Long>> knownActors = findKnownActors(open, groups);
+            // 기간 안에 같은 키의 행이 여러 개면 (합치기 전 데이터) 가장 최근 행에 합친다
+            for (NotificationRepository.OpenGroup row : open) {
+                Group group = groups.get(GroupKey.of(row));
+                if (group != null) {
+                    group.attach(row, knownActors.getOrDefault(row.getId(), Set.of()));
+                }
+            }
+        }
 
-        Notification notification = Notification.builder()
-                .recipient(recipient)
-                .actor(actor)
-                .type(type)
-                .content(content)
-                .build();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        // 새 행이거나 읽은 행이 다시 안 읽음이 되면 안 읽은 수가 1 늘어난다
+        Map<Long, Integer> unreadDeltas = new HashMap<>();
+        groups.forEach((key, group) -> {
+            if (group.existingId == null || group.existingRead) {
+                unreadDeltas.merge(key.recipientId(), 1, Integer::sum);
+            }
+            String latestActors = group.latestActors.stream().map(String::valueOf).collect(Collectors.joining(","));
+            if (group.existingId != null) {
+                updates.add(new Object[]{group.latestActors.getFirst(), group.actorCount, latestActors,
+                        group.content, timestamp, group.existingId});
+            } else {
+                inserts.add(new Object[]{key.type().name(), key.recipientId(), group.latestActors.getFirst(),
+                        key.targetId(), group.actorCount, latestActors, group.content, timestamp, timestamp});
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_NOTIFICATION, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, inserts);
+        }
+        recordActors(groups, targetIds, now);
+        unreadDeltas.forEach((recipientId, delta) ->
+                eventPublisher.publishEvent(UnreadCountChangedEvent.delta(recipientId, delta)));
+        Set<Long> recipientIds = groups.keySet().stream().map(GroupKey::recipientId).collect(Collectors.toSet());
+        eventPublisher.publishEvent(new NotificationsWrittenEvent(recipientIds, now));
+    }
 
-        notificationRepository.save(notification);
+    public CursorResponse<NotificationResponse> getMyNotifications(String username, String cursor, int size) {
+        User user = getUserByUsername(username);
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Notification> notifications = StringUtils.hasText(cursor)
+                ? findPageBefore(user.getId(), NotificationCursor.decode(cursor), Limit.of(limit + 1))
+                : notificationRepository.findLatestByRecipient(user.getId(), Limit.of(limit + 1));
+        boolean hasNext = notifications.size() > limit;
+        List<Notification> content = hasNext ? notifications.subList(0, limit) : notifications;
+
+        String nextCursor = hasNext ? NotificationCursor.of(content.getLast()).encode() : null;
+        return new CursorResponse<>(toResponses(content), nextCursor, hasNext);
     }
 
-    public List<NotificationResponse> getMyNotifications(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    // 알림 스트림이 방금 커밋된 배치의 행을 수신자별로 한 번에 읽는다
+    public List<Notification> findWrittenAt(Collection<Long> recipientIds, LocalDateTime writtenAt) {
+        return notificationRepository.findWrittenAt(recipientIds, writtenAt);
+    }
+
+    public List<Notification> findUpdatedAfter(Long recipientId, NotificationEventId position, int limit) {
+        return notificationRepository.findUpdatedAfter(recipientId, position.updatedAt(), position.id(), Limit.of(limit));
+    }
+
+    // 최근 행위자 이름은 알림마다 따로 조회하지 않고 한 번에 가져온다
+    public List<NotificationResponse> toResponses(List<Notification> notifications) {
+        Set<Long> actorIds = notifications.stream()
+                .flatMap(n -> n.getLatestActorIdList().stream())
+                .collect(Collectors.toSet());
+        Map<Long, String> usernames = userRepository.findAllById(actorIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getUsername));
+
+        return notifications.stream()
+                .map(n -> NotificationResponse.of(n, usernames))
+                .toList();
+    }
+
+    public Long getRecipientId(String username) {
+        return getUserByUsername(username).getId();
+    }
 
-        return notificationRepository.findAllByRecipientIdOrderByCreatedAtDesc(user.getId())
-                .stream()
-                .map(NotificationResponse::from)
-                .collect(Collectors.toList());
+    // 알림 뱃지용. 캐시에 없을 때만 (recipient_id, updated_at) 인덱스로 센다
+    public int getUnreadCount(String username) {
+        Long recipientId = getRecipientId(username);
+        return unreadCountCache.get(recipientId, () -> notificationRepository.countByRecipientIdAndIsReadFalse(recipientId));
     }
 
+    // 탈퇴한 회원이 받았거나 마지막으로 보낸 알림을 지운다. 다른 사용자의 안 읽은 수는 UnreadCountCache가 탈퇴 이벤트로 다시 센다
     @Transactional
-    public void markAsRead(Long notificationId) {
-        notificationRepository.findById(notificationId)
-                .ifPresent(Notification::markAsRead);
+    public void removeUser(Long userId) {
+        notificationActorRepository.deleteByNotificationUserId(userId);
+        notificationRepository.deleteByUserId(userId);
+    }
+
+    @Transactional
+    public void markAsRead(Long notificationId, String username) {
+        Long recipientId = getRecipientId(username);
+        if (notificationRepository.markAsRead(notificationId, recipientId) > 0) {
+            eventPublisher.publishEvent(UnreadCountChangedEvent.delta(recipientId, -1));
+        }
     }
 
     @Transactional
     public void markAllAsRead(String username) {
-        User user = userRepository.findByUsername(username)
+        Long recipientId = getRecipientId(username);
+        if (notificationRepository.markAllAsReadByRecipientId(recipientId) > 0) {
+            eventPublisher.publishEvent(UnreadCountChangedEvent.reset(recipientId));
+        }
+    }
+
+    // 기간 안의 행에 이미 기록된 행위자 중 이번 배치에 다시 온 사람
+    private Map<Long, Set<Long>> findKnownActors(List<NotificationRepository.OpenGroup> open, Map<GroupKey, Group> groups) {
+        Set<Long> notificationIds = new HashSet<>();
+        Set<Long> actorIds = new HashSet<>();
+        for (NotificationRepository.OpenGroup row : open) {
+            Group group = groups.get(GroupKey.of(row));
+            if (group != null) {
+                notificationIds.add(row.getId());
+                group.pending.forEach(n -> actorIds.add(n.actorId()));
+            }
+        }
+        if (notificationIds.isEmpty()) {
+            return Map.of();
+        }
+        return notificationActorRepository.findKnown(notificationIds, actorIds).stream()
+                .collect(Collectors.groupingBy(NotificationActorRepository.ActorOf::getNotificationId,
+                        Collectors.mapping(NotificationActorRepository.ActorOf::getActorId, Collectors.toSet())));
+    }
+
+    // 대상이 있는 알림만 합쳐지므로 그 행위자만 기록한다. 새 행의 id는 이번 배치의 createdAt으로 다시 찾는다
+    private void recordActors(Map<GroupKey, Group> groups, Set<Long> targetIds, LocalDateTime now) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+        Map<GroupKey, Long> insertedIds = new HashMap<>();
+        if (groups.values().stream().anyMatch(group -> group.existingId == null)) {
+            for (NotificationRepository.OpenGroup row : notificationRepository.findCreatedAt(targetIds, now)) {
+                insertedIds.put(GroupKey.of(row), row.getId());
+            }
+        }
+
+        List<Object[]> actors = new ArrayList<>();
+        groups.forEach((key, group) -> {
+            Long notificationId = (group.existingId != null) ? group.existingId : insertedIds.get(key);
+            if (key.targetId() == null || notificationId == null) {
+                return;
+            }
+            group.newActors().forEach(actorId -> actors.add(new Object[]{notificationId, actorId}));
+        });
+        if (!actors.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ACTOR, actors);
+        }
+    }
+
+    private List<Notification> findPageBefore(Long recipientId, NotificationCursor position, Limit limit) {
+        return notificationRepository.findLatestByRecipientBefore(recipientId, position.updatedAt(), position.id(), limit);
+    }
+
+    private User getUserByUsername(String username) {
+        return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    private record GroupKey(Long recipientId, NotificationType type, Long targetId) {
+        static GroupKey of(NotificationRequestedEvent n) {
+            return new GroupKey(n.recipientId(), n.type(), n.targetId());
+        }
+
+        static GroupKey of(NotificationRepository.OpenGroup row) {
+            return new GroupKey(row.getRecipientId(), row.getType(), row.getTargetId());
+        }
+    }
+
+    // 한 행으로 합쳐질 알림들. latestActors는 최신순이며 맨 앞이 actor가 된다.
+    // actors는 이 행에 이미 센 행위자 (기록된 사람 + 이번 배치), recorded는 그중 notification_actors에 이미 있는 사람이다
+    private static final class Group {
+        private final List<NotificationRequestedEvent> pending = new ArrayList<>();
+        private Deque<Long> latestActors = new ArrayDeque<>();
+        private Set<Long> actors = new HashSet<>();
+        private Set<Long> recorded = Set.of();
+        private Long existingId;
+        private boolean existingRead;
+        private int actorCount;
+        private String content;
 
-        notificationRepository.markAllAsReadByRecipientId(user.getId());
+        void add(NotificationRequestedEvent n) {
+            pending.add(n);
+            merge(n.actorId());
+            content = n.content();
+        }
+
+        // 기존 행을 바탕으로 배치 안의 알림을 다시 쌓는다
+        void attach(NotificationRepository.OpenGroup open, Set<Long> knownActors) {
+            existingId = open.getId();
+            existingRead = open.isRead();
+            actorCount = open.getActorCount();
+            recorded = knownActors;
+            actors = new HashSet<>(knownActors);
+            latestActors = new ArrayDeque<>();
+            String stored = open.getLatestActors();
+            if (stored == null || stored.isEmpty()) {
+                latestActors.add(open.getActorId());
+            } else {
+                for (String id : stored.split(",")) {
+                    latestActors.addLast(Long.valueOf(id));
+                }
+            }
+            pending.forEach(n -> merge(n.actorId()));
+        }
+
+        Set<Long> newActors() {
+            Set<Long> added = new HashSet<>(actors);
+            added.removeAll(recorded);
+            return added;
+        }
+
+        // 이미 센 사람이면 (최근 목록에 있거나 기록된 사람) 순서만 앞으로 당기고 인원 수는 늘리지 않는다.
+        // 기록이 없던 예전 행도 최근 목록에 있는 사람은 세지 않는다
+        private void merge(Long actorId) {
+            boolean recent = latestActors.remove(actorId);
+            if (actors.add(actorId) && !recent) {
+                actorCount++;
+            }
+            latestActors.addFirst(actorId);
+            while (latestActors.size() > MAX_LATEST_ACTORS) {
+                latestActors.removeLast();
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,251 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.controller.dto.NotificationResponse;
+import com.pjy008008.j_community.entity.Notification;
+import com.pjy008008.j_community.event.NotificationsWrittenEvent;
+import com.pjy008008.j_community.exception.InvalidCursorException;
+import com.pjy008008.j_community.support.NotificationEventId;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// 알림 실시간 푸시 (SSE). 수신자 id별로 열린 연결을 들고 있다가, 알림 배치가 커밋되면
+// 연결된 수신자의 행만 한 번에 읽어 각 연결의 bounded 버퍼에 넣는다.
+// 대기 중인 연결은 async 요청이라 스레드를 잡지 않고, 실제 전송만 가상 스레드에서 연결당 하나씩 순서대로 한다.
+// 버퍼가 넘치는(따라가지 못하는) 연결은 닫는다. 클라이언트는 Last-Event-ID로 재연결해 notifications 테이블에서 이어 받는다.
+@Slf4j
+@Component
+public class NotificationStreamHub {
+
+    private static final String EVENT_NOTIFICATION = "notification";
+    // 재연결 사이에 쌓인 알림이 resume-limit보다 많으면 목록을 다시 받으라고만 알린다
+    private static final String EVENT_RESYNC = "resync";
+
+    private final NotificationService notificationService;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final int resumeLimit;
+
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("notification-sse-", 0).factory());
+
+    private final LongAdder overflowed = new LongAdder();
+
+    public NotificationStreamHub(
+            NotificationService notificationService,
+            @Value("${notification.stream.timeout-ms}") long timeoutMs,
+            @Value("${notification.stream.buffer-size}") int bufferSize,
+            @Value("${notification.stream.max-connections-per-user}") int maxConnectionsPerUser,
+            @Value("${notification.stream.resume-limit}") int resumeLimit
+    ) {
+        this.notificationService = notificationService;
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.resumeLimit = resumeLimit;
+    }
+
+    // 연결을 먼저 등록한 뒤 놓친 알림을 보내므로, 그 사이 커밋된 알림은 두 번 갈 수 있다 (클라이언트는 id로 덮어쓴다)
+    public SseEmitter connect(String username, String lastEventId) {
+        Long recipientId = notificationService.getRecipientId(username);
+        Connection connection = register(recipientId);
+        connection.offer(SseEmitter.event().comment("connected"));
+
+        NotificationEventId position = decodeLastEventId(lastEventId);
+        if (position != null) {
+            List<Notification> missed = notificationService.findUpdatedAfter(recipientId, position, resumeLimit + 1);
+            if (missed.size() > resumeLimit) {
+                connection.offer(SseEmitter.event().name(EVENT_RESYNC).data(""));
+            } else {
+                send(List.of(connection), missed);
+            }
+        }
+        return connection.emitter;
+    }
+
+    // 저장 스레드가 NotificationDispatcher의 writeLock을 잡은 채로 호출하므로, 조회와 이벤트 생성은 전송 스레드로 넘긴다
+    @TransactionalEventListener
+    public void onNotificationsWritten(NotificationsWrittenEvent event) {
+        Set<Long> connected = event.recipientIds().stream()
+                .filter(connections::containsKey)
+                .collect(Collectors.toSet());
+        if (connected.isEmpty() || senders.isShutdown()) {
+            return;
+        }
+        senders.execute(() -> fanOut(connected, event.writtenAt()));
+    }
+
+    // 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주석 이벤트를 보낸다. 버퍼가 찬 연결은 여기서도 닫힌다
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat-ms}")
+    public void heartbeat() {
+        connections.values().forEach(list -> list.forEach(c -> c.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    public int connectionCount() {
+        return connections.values().stream().mapToInt(List::size).sum();
+    }
+
+    public long overflowedCount() {
+        return overflowed.sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        connections.values().forEach(list -> list.forEach(Connection::close));
+        senders.shutdown();
+    }
+
+    private void fanOut(Set<Long> recipientIds, LocalDateTime writtenAt) {
+        try {
+            List<Notification> written = notificationService.findWrittenAt(recipientIds, writtenAt);
+            written.stream()
+                    .collect(Collectors.groupingBy(n -> n.getRecipient().getId()))
+                    .forEach((recipientId, notifications) ->
+                            send(connections.getOrDefault(recipientId, List.of()), notifications));
+        } catch (RuntimeException e) {
+            log.warn("Failed to push notifications written at {}", writtenAt, e);
+        }
+    }
+
+    private Connection register(Long recipientId) {
+        Connection connection = new Connection(recipientId, new SseEmitter(timeoutMs));
+        // 완료/오류는 이미 끝난 요청이라 정리만 하고, 타임아웃은 직접 완료해 클라이언트가 재연결하게 한다
+        connection.emitter.onCompletion(connection::release);
+        connection.emitter.onError(e -> connection.release());
+        connection.emitter.onTimeout(connection::close);
+
+        // 마지막 연결이 빠지며 목록이 지워지는 것과 겹치지 않도록 compute 안에서 추가한다
+        List<Connection> list = connections.compute(recipientId, (id, existing) -> {
+            List<Connection> target = (existing != null) ? existing : new CopyOnWriteArrayList<>();
+            target.add(connection);
+            return target;
+        });
+        // 탭을 많이 연 사용자는 가장 오래된 연결부터 닫는다
+        while (list.size() > maxConnectionsPerUser) {
+            list.getFirst().close();
+        }
+        return connection;
+    }
+
+    private void unregister(Connection connection) {
+        connections.computeIfPresent(connection.recipientId, (id, list) -> {
+            list.remove(connection);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private void send(List<Connection> targets, List<Notification> notifications) {
+        if (targets.isEmpty() || notifications.isEmpty()) {
+            return;
+        }
+        List<NotificationResponse> responses = notificationService.toResponses(notifications);
+        for (int i = 0; i < notifications.size(); i++) {
+            String eventId = NotificationEventId.of(notifications.get(i)).encode();
+            NotificationResponse response = responses.get(i);
+            for (Connection connection : targets) {
+                connection.offer(SseEmitter.event()
+                        .id(eventId)
+                        .name(EVENT_NOTIFICATION)
+                        .data(response, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    // 브라우저가 자동으로 보내는 헤더라 형식이 틀려도 거절하지 않고 처음부터 받는다
+    private NotificationEventId decodeLastEventId(String lastEventId) {
+        if (!StringUtils.hasText(lastEventId)) {
+            return null;
+        }
+        try {
+            return NotificationEventId.decode(lastEventId);
+        } catch (InvalidCursorException e) {
+            return null;
+        }
+    }
+
+    private final class Connection {
+
+        private final Long recipientId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(Long recipientId, SseEmitter emitter) {
+            this.recipientId = recipientId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                overflowed.increment();
+                close();
+                return;
+            }
+            scheduleSend();
+        }
+
+        // 연결마다 전송 작업은 최대 하나만 돈다 (SseEmitter.send는 동시에 호출하면 안 된다)
+        private void scheduleSend() {
+            if (!buffer.isEmpty() && !closed.get() && sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing notification stream of user {}: {}", recipientId, e.getMessage());
+                close();
+            } finally {
+                sending.set(false);
+            }
+            scheduleSend();
+        }
+
+        void close() {
+            if (release()) {
+                emitter.complete();
+            }
+        }
+
+        boolean release() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            unregister(this);
+            buffer.clear();
+            return true;
+        }
+    }
+}
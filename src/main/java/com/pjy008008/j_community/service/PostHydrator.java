@@ -0,0 +1,120 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.cache.VoteStateCache;
+import com.pjy008008.j_community.controller.dto.PostResponse;
+import com.pjy008008.j_community.entity.Community;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.entity.PostVote;
+import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.model.VoteType;
+import com.pjy008008.j_community.repository.CommunityRepository;
+import com.pjy008008.j_community.repository.PostVoteRepository;
+import com.pjy008008.j_community.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 글 목록을 응답으로 변환할 때 작성자, 커뮤니티, 본인 투표를 페이지 단위로 한 번에 조회한다.
+// 글 수와 관계없이 쿼리 수가 고정되며(작성자 1, 커뮤니티 1, 투표는 캐시에 없을 때만 사용자 1 + 투표 1), 댓글 수는 비정규화된 컬럼을 읽는다.
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PostHydrator {
+
+    private final UserRepository userRepository;
+    private final CommunityRepository communityRepository;
+    private final PostVoteRepository postVoteRepository;
+    private final VoteStateCache voteStateCache;
+    private final VoteAggregator voteAggregator;
+
+    // 사용자와 무관한 응답 (캐시 저장용)
+    public List<PostResponse> hydrate(List<Post> posts) {
+        return hydrate(posts, Collections.emptyMap());
+    }
+
+    public List<PostResponse> hydrate(List<Post> posts, String username) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        return hydrate(posts, findUserVotes(posts.stream().map(Post::getId).toList(), username));
+    }
+
+    // 이미 변환된(캐시된) 응답에 본인 투표 상태만 덧씌운다
+    public List<PostResponse> applyMyVotes(List<Long> postIds, List<PostResponse> posts, String username) {
+        Map<Long, VoteType> userVotes = findUserVotes(postIds, username);
+        if (userVotes.isEmpty()) {
+            return posts;
+        }
+        return posts.stream()
+                .map(post -> post.withMyVote(userVotes.get(post.id())))
+                .toList();
+    }
+
+    private List<PostResponse> hydrate(List<Post> posts, Map<Long, VoteType> userVotes) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+
+        // 지연 로딩 프록시의 id 조회는 초기화를 일으키지 않는다
+        Map<Long, User> authors = loadById(
+                posts.stream().map(p -> p.getAuthor().getId()).collect(Collectors.toSet()),
+                userRepository::findAllById, User::getId);
+        Map<Long, Community> communities = loadById(
+                posts.stream().map(p -> p.getCommunity().getId()).collect(Collectors.toSet()),
+                communityRepository::findAllById, Community::getId);
+
+        return posts.stream()
+                .map(post -> PostResponse.of(
+                        post,
+                        authors.get(post.getAuthor().getId()),
+                        communities.get(post.getCommunity().getId()),
+                        userVotes.get(post.getId())))
+                .map(this::withPendingVotes)
+                .toList();
+    }
+
+    // 본인 투표는 VoteStateCache에서 찾고, 캐시에 없는 글만 DB에서 읽는다
+    private Map<Long, VoteType> findUserVotes(List<Long> postIds, String username) {
+        if (username == null || postIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return voteStateCache.postVotes(username, postIds, missing -> loadUserVotes(missing, username));
+    }
+
+    private Map<Long, VoteType> loadUserVotes(List<Long> postIds, String username) {
+        Long userId = userRepository.findIdByUsername(username).orElse(null);
+        if (userId == null) {
+            return Collections.emptyMap();
+        }
+
+        List<PostVote> votes = postVoteRepository.findByUserIdAndPostIdIn(userId, postIds);
+
+        return votes.stream()
+                .collect(Collectors.toMap(
+                        v -> v.getPost().getId(),
+                        PostVote::getVoteType
+                ));
+    }
+
+    private <T> Map<Long, T> loadById(Set<Long> ids, Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf) {
+        return loader.apply(ids).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    // write-behind 모드에서 아직 flush되지 않은 점수 변화를 더한다
+    private PostResponse withPendingVotes(PostResponse response) {
+        if (!voteAggregator.isEnabled()) {
+            return response;
+        }
+        int pending = voteAggregator.pendingPostDelta(response.id());
+        return (pending != 0) ? response.withVotes(response.votes() + pending) : response;
+    }
+}
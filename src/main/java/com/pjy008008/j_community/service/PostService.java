@@ -1,43 +1,67 @@
 package com.pjy008008.j_community.service;
 
+import com.pjy008008.j_community.cache.CachedFeedPage;
+import com.pjy008008.j_community.cache.ContentVersions;
+import com.pjy008008.j_community.cache.FeedPageCache;
+import com.pjy008008.j_community.cache.FeedPageKey;
+import com.pjy008008.j_community.controller.dto.CursorResponse;
 import com.pjy008008.j_community.controller.dto.PostCreateRequest;
 import com.pjy008008.j_community.controller.dto.PostResponse;
 import com.pjy008008.j_community.controller.dto.PostUpdateRequest;
 import com.pjy008008.j_community.entity.Community;
 import com.pjy008008.j_community.entity.Post;
-import com.pjy008008.j_community.entity.PostVote;
 import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.event.PostCreatedEvent;
+import com.pjy008008.j_community.event.PostDeletedEvent;
+import com.pjy008008.j_community.event.PostUpdatedEvent;
+import com.pjy008008.j_community.event.PostVotedEvent;
+import com.pjy008008.j_community.exception.DuplicateResourceException;
 import com.pjy008008.j_community.exception.ResourceNotFoundException;
+import com.pjy008008.j_community.model.FeedSort;
 import com.pjy008008.j_community.model.NotificationType;
 import com.pjy008008.j_community.model.VoteType;
 import com.pjy008008.j_community.repository.CommunityRepository;
 import com.pjy008008.j_community.repository.PostRepository;
 import com.pjy008008.j_community.repository.PostVoteRepository;
 import com.pjy008008.j_community.repository.UserRepository;
+import com.pjy008008.j_community.support.FeedCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.util.StringUtils;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class PostService {
 
+    private static final int MAX_FEED_SIZE = 50;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final CommunityRepository communityRepository;
     private final PostVoteRepository postVoteRepository;
     private final NotificationService notificationService;
+    private final TimelineService timelineService;
+    private final PostHydrator postHydrator;
+    private final ViewCountService viewCountService;
+    private final VoteAggregator voteAggregator;
+    private final FeedPageCache feedPageCache;
+    private final ContentVersions contentVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public PostResponse createPost(PostCreateRequest request, String username) {
@@ -55,9 +79,37 @@ public class PostService {
                 .build();
 
         Post savedPost = postRepository.save(post);
+        communityRepository.updatePostCount(community.getId(), 1);
+        timelineService.fanOut(savedPost);
+        eventPublisher.publishEvent(new PostCreatedEvent(savedPost.getId(), community.getName()));
         return PostResponse.from(savedPost);
     }
 
+    public PostResponse getPost(Long postId, String username) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + postId));
+
+        return postHydrator.hydrate(List.of(post), username).get(0);
+    }
+
+    // 조회수는 메모리에 기록만 하고 ViewCountService가 주기적으로 DB에 반영한다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordView(Long postId, String username, String clientAddress) {
+        String viewerKey = (username != null) ? "user:" + username : "ip:" + clientAddress;
+        viewCountService.recordView(postId, viewerKey);
+    }
+
+    // ETag는 메모리 버전 스탬프로만 계산하므로 304 응답에는 트랜잭션도, DB 조회도 없다
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String postsETag(String communityName, Pageable pageable, String username) {
+        return contentVersions.feedETag(username, communityName, pageable);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String postETag(Long postId, String username) {
+        return contentVersions.postETag(postId, username);
+    }
+
     @Transactional
     public PostResponse updatePost(Long postId, PostUpdateRequest request, String username) {
         Post post = postRepository.findById(postId)
@@ -67,7 +119,9 @@ public class PostService {
 
         post.update(request.title(), request.content());
 
-        return PostResponse.from(post);
+        PostResponse response = PostResponse.from(post);
+        eventPublisher.publishEvent(new PostUpdatedEvent(postId, response));
+        return response;
     }
 
     @Transactional
@@ -78,71 +132,209 @@ public class PostService {
         validateAuthor(post, username);
 
         postRepository.delete(post);
+        communityRepository.updatePostCount(post.getCommunity().getId(), -1);
+        timelineService.removePost(postId);
+        viewCountService.removePost(postId);
+        eventPublisher.publishEvent(new PostDeletedEvent(postId, post.getCommunity().getName()));
     }
 
     @Transactional
     public int votePost(Long postId, VoteType voteType, String username) {
-        User user = userRepository.findByUsername(username)
+        Long userId = userRepository.findIdByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found: " + postId));
-
-        Optional<PostVote> existingVote = postVoteRepository.findByUserIdAndPostId(user.getId(), postId);
-
-        if (existingVote.isPresent()) {
-            PostVote vote = existingVote.get();
-            if (vote.getVoteType() == voteType) {
-                post.updateVotes(-voteType.getValue());
-                postVoteRepository.delete(vote);
-            } else {
-                post.updateVotes(-vote.getVoteType().getValue() + voteType.getValue());
-                vote.updateVoteType(voteType);
-            }
-        } else {
-            post.updateVotes(voteType.getValue());
-            postVoteRepository.save(PostVote.builder().user(user).post(post).voteType(voteType).build());
 
+        // 엔티티를 읽지 않고 조건부 DELETE/UPDATE/INSERT 한 번씩으로 투표 상태를 바꾼다
+        int delta;
+        VoteType myVote = voteType;
+        if (postVoteRepository.deleteIfSameType(userId, postId, voteType) > 0) {
+            delta = -voteType.getValue();
+            myVote = null;
+        } else if (postVoteRepository.switchIfOtherType(userId, postId, voteType) > 0) {
+            delta = 2 * voteType.getValue();
+        } else if (postVoteRepository.insertIfAbsent(userId, postId, voteType) > 0) {
+            delta = voteType.getValue();
             if (voteType == VoteType.UP) {
+                Post post = postRepository.getReferenceById(postId);
                 notificationService.send(
-                        post.getAuthor(),
-                        user,
+                        post.getAuthor().getId(),
+                        userId,
                         NotificationType.UPVOTE_POST,
+                        postId,
                         post.getTitle()
                 );
             }
+        } else if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found: " + postId);
+        } else {
+            // 같은 사용자의 다른 요청이 그 사이에 투표를 먼저 기록했다
+            throw new DuplicateResourceException("Vote was changed concurrently");
+        }
+
+        int votes = applyVoteDelta(postId, delta);
+        eventPublisher.publishEvent(new PostVotedEvent(postId, votes, username, myVote));
+        return votes;
+    }
+
+    // write-behind 모드에서는 점수 변화를 VoteAggregator에 넘기고, 응답에는 반영 대기 중인 값까지 더해 보여준다
+    private int applyVoteDelta(Long postId, int delta) {
+        if (voteAggregator.isEnabled()) {
+            int votes = voteAggregator.readWithPending(
+                    () -> currentVotes(postId) + voteAggregator.pendingPostDelta(postId)) + delta;
+            voteAggregator.addPostDeltaAfterCommit(postId, delta);
+            return votes;
         }
-        return post.getVotes();
+        postRepository.addVotes(postId, delta);
+        return currentVotes(postId);
+    }
+
+    private int currentVotes(Long postId) {
+        return postRepository.findVotesById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found: " + postId));
     }
 
     public Page<PostResponse> getAllPosts(Pageable pageable, String username) {
-        Page<Post> posts = postRepository.findAllByOrderByCreatedAtDesc(pageable);
-        return mapPostsToResponse(posts, username);
+        CachedFeedPage page = loadCached(pageKey(null, pageable),
+                () -> toCachedPage(postRepository.findAll(pageable)));
+        return new PageImpl<>(applyMyVotes(page, username), pageable, page.totalElements());
     }
 
     public Page<PostResponse> getPostsByCommunity(String communityName, Pageable pageable, String username) {
-        Page<Post> posts = postRepository.findByCommunityName(communityName, pageable);
-        return mapPostsToResponse(posts, username);
+        CachedFeedPage page = loadCached(pageKey(communityName, pageable),
+                () -> toCachedPage(postRepository.findByCommunityName(communityName, pageable)));
+        return new PageImpl<>(applyMyVotes(page, username), pageable, page.totalElements());
+    }
+
+    // OFFSET/COUNT 없이 keyset으로 다음 페이지를 조회
+    public CursorResponse<PostResponse> getFeed(FeedSort sort, String cursor, int size, String username) {
+        return loadFeed(null, sort, cursor, size, username);
     }
 
-    private Page<PostResponse> mapPostsToResponse(Page<Post> posts, String username) {
-        Map<Long, VoteType> userVotes = Collections.emptyMap();
+    public CursorResponse<PostResponse> getCommunityFeed(String communityName, FeedSort sort, String cursor, int size, String username) {
+        return loadFeed(communityName, sort, cursor, size, username);
+    }
 
-        if (username != null) {
-            User user = userRepository.findByUsername(username).orElse(null);
-            if (user != null) {
-                List<Long> postIds = posts.getContent().stream().map(Post::getId).toList();
-                List<PostVote> votes = postVoteRepository.findByUserIdAndPostIdIn(user.getId(), postIds);
+    // 가입한 커뮤니티들의 글을 최신순으로 모은 홈 타임라인
+    public CursorResponse<PostResponse> getHomeFeed(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-                userVotes = votes.stream()
-                        .collect(Collectors.toMap(
-                                v -> v.getPost().getId(),
-                                PostVote::getVoteType
-                        ));
+        int limit = clampFeedSize(size);
+        FeedCursor position = StringUtils.hasText(cursor) ? FeedCursor.decode(cursor, FeedSort.NEW) : null;
+        List<Post> posts = timelineService.findTimeline(user.getId(), position, limit + 1);
+        return toCursorResponse(toCachedSlice(posts, FeedSort.NEW, limit), username);
+    }
+
+    private CursorResponse<PostResponse> loadFeed(String communityName, FeedSort sort, String cursor, int size, String username) {
+        int limit = clampFeedSize(size);
+        FeedCursor position = StringUtils.hasText(cursor) ? FeedCursor.decode(cursor, sort) : null;
+        FeedPageKey key = (position == null) ? FeedPageKey.firstSlice(communityName, sort, limit) : null;
+
+        CachedFeedPage page = loadCached(key, () -> {
+            Long communityId = (communityName != null) ? findCommunityId(communityName) : null;
+            List<Post> posts = findFeedPosts(communityId, sort, position, Limit.of(limit + 1));
+            return toCachedSlice(posts, sort, limit);
+        });
+        return toCursorResponse(page, username);
+    }
+
+    private Long findCommunityId(String communityName) {
+        return communityRepository.findByName(communityName)
+                .map(Community::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Community not found with name: " + communityName));
+    }
+
+    private List<Post> findFeedPosts(Long communityId, FeedSort sort, FeedCursor position, Limit limit) {
+        if (sort == FeedSort.HOT) {
+            if (communityId == null) {
+                return (position == null)
+                        ? postRepository.findHottest(limit)
+                        : postRepository.findHottestBelow(position.hotRank(), position.id(), limit);
             }
+            return (position == null)
+                    ? postRepository.findHottestByCommunity(communityId, limit)
+                    : postRepository.findHottestByCommunityBelow(communityId, position.hotRank(), position.id(), limit);
+        }
+
+        if (communityId == null) {
+            return (position == null)
+                    ? postRepository.findLatest(limit)
+                    : postRepository.findLatestBefore(position.createdAt(), position.id(), limit);
+        }
+        return (position == null)
+                ? postRepository.findLatestByCommunity(communityId, limit)
+                : postRepository.findLatestByCommunityBefore(communityId, position.createdAt(), position.id(), limit);
+    }
+
+    private int clampFeedSize(int size) {
+        return Math.max(1, Math.min(size, MAX_FEED_SIZE));
+    }
+
+    // 캐시 대상(앞쪽 페이지, 기본 정렬)이 아니면 key는 null이고 항상 DB에서 읽는다
+    private CachedFeedPage loadCached(FeedPageKey key, Supplier<CachedFeedPage> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+
+        Optional<CachedFeedPage> cached = feedPageCache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
         }
 
-        Map<Long, VoteType> finalUserVotes = userVotes;
-        return posts.map(post -> PostResponse.from(post, finalUserVotes.getOrDefault(post.getId(), null)));
+        long generation = feedPageCache.generation();
+        CachedFeedPage page = loader.get();
+        feedPageCache.put(key, page, generation);
+        return page;
+    }
+
+    private FeedPageKey pageKey(String communityName, Pageable pageable) {
+        if (pageable.isUnpaged() || !feedPageCache.isCacheablePage(pageable.getPageNumber())) {
+            return null;
+        }
+        FeedSort sort = toFeedSort(pageable.getSort());
+        return (sort != null)
+                ? FeedPageKey.page(communityName, sort, pageable.getPageNumber(), pageable.getPageSize())
+                : null;
+    }
+
+    private FeedSort toFeedSort(Sort sort) {
+        if (sort.equals(Sort.by(Sort.Direction.DESC, "createdAt"))) {
+            return FeedSort.NEW;
+        }
+        if (sort.equals(Sort.by(Sort.Direction.DESC, "hotRank"))) {
+            return FeedSort.HOT;
+        }
+        return null;
+    }
+
+    private CachedFeedPage toCachedPage(Page<Post> posts) {
+        List<Post> content = posts.getContent();
+        return new CachedFeedPage(
+                content.stream().map(Post::getId).toList(),
+                postHydrator.hydrate(content),
+                posts.getTotalElements(),
+                null
+        );
+    }
+
+    private CachedFeedPage toCachedSlice(List<Post> posts, FeedSort sort, int limit) {
+        boolean hasNext = posts.size() > limit;
+        List<Post> content = hasNext ? posts.subList(0, limit) : posts;
+        String nextCursor = hasNext ? FeedCursor.of(sort, content.get(content.size() - 1)).encode() : null;
+        return new CachedFeedPage(
+                content.stream().map(Post::getId).toList(),
+                postHydrator.hydrate(content),
+                content.size(),
+                nextCursor
+        );
+    }
+
+    private CursorResponse<PostResponse> toCursorResponse(CachedFeedPage page, String username) {
+        return new CursorResponse<>(applyMyVotes(page, username), page.nextCursor(), page.nextCursor() != null);
+    }
+
+    // 캐시된 페이지는 사용자와 무관하므로 본인 투표 상태는 조회 후에 덧씌운다
+    private List<PostResponse> applyMyVotes(CachedFeedPage page, String username) {
+        return postHydrator.applyMyVotes(page.postIds(), page.posts(), username);
     }
 
     private void validateAuthor(Post post, String username) {
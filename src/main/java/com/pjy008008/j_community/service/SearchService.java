@@ -0,0 +1,102 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.controller.dto.CursorResponse;
+import com.pjy008008.j_community.controller.dto.SearchHitResponse;
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.entity.Community;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.exception.ResourceNotFoundException;
+import com.pjy008008.j_community.model.SearchHitType;
+import com.pjy008008.j_community.repository.CommentRepository;
+import com.pjy008008.j_community.repository.CommunityRepository;
+import com.pjy008008.j_community.repository.PostRepository;
+import com.pjy008008.j_community.search.SearchIndex;
+import com.pjy008008.j_community.search.SearchIndexHit;
+import com.pjy008008.j_community.support.SearchCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 검색은 Lucene 색인에서 id만 찾고, 화면에 필요한 값은 DB에서 id IN 조회로 채운다 (TEXT 컬럼 LIKE 스캔 없음)
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private static final int MAX_SEARCH_SIZE = 50;
+
+    private final SearchIndex searchIndex;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CommunityRepository communityRepository;
+
+    public CursorResponse<SearchHitResponse> search(String query, String communityName, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        SearchCursor after = StringUtils.hasText(cursor) ? SearchCursor.decode(cursor) : null;
+        Long communityId = StringUtils.hasText(communityName) ? findCommunityId(communityName) : null;
+
+        if (!StringUtils.hasText(query)) {
+            return new CursorResponse<>(List.of(), null, false);
+        }
+
+        List<SearchIndexHit> hits = searchIndex.search(query, communityId, after, limit + 1);
+        boolean hasNext = hits.size() > limit;
+        List<SearchIndexHit> content = hasNext ? hits.subList(0, limit) : hits;
+        String nextCursor = hasNext ? content.get(content.size() - 1).cursor().encode() : null;
+
+        return new CursorResponse<>(hydrate(content), nextCursor, hasNext);
+    }
+
+    private List<SearchHitResponse> hydrate(List<SearchIndexHit> hits) {
+        Map<Long, Post> posts = postRepository.findWithAuthorAndCommunityByIdIn(idsOf(hits, SearchHitType.POST)).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        Map<Long, Comment> comments = commentRepository.findWithAuthorAndPostByIdIn(idsOf(hits, SearchHitType.COMMENT)).stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+
+        List<SearchHitResponse> responses = new ArrayList<>(hits.size());
+        List<Long> stalePosts = new ArrayList<>();
+        List<Long> staleComments = new ArrayList<>();
+        for (SearchIndexHit hit : hits) {
+            if (hit.type() == SearchHitType.POST) {
+                Post post = posts.get(hit.id());
+                if (post != null) {
+                    responses.add(SearchHitResponse.of(post, hit.score()));
+                } else {
+                    stalePosts.add(hit.id());
+                }
+            } else {
+                Comment comment = comments.get(hit.id());
+                if (comment != null) {
+                    responses.add(SearchHitResponse.of(comment, hit.score()));
+                } else {
+                    staleComments.add(hit.id());
+                }
+            }
+        }
+
+        // 회원 탈퇴 등 cascade로 지워져 이벤트 없이 남은 문서는 발견 즉시 색인에서 제거
+        searchIndex.delete(SearchHitType.POST, stalePosts);
+        searchIndex.delete(SearchHitType.COMMENT, staleComments);
+        return responses;
+    }
+
+    private List<Long> idsOf(List<SearchIndexHit> hits, SearchHitType type) {
+        return hits.stream()
+                .filter(hit -> hit.type() == type)
+                .map(SearchIndexHit::id)
+                .toList();
+    }
+
+    private Long findCommunityId(String communityName) {
+        return communityRepository.findByName(communityName)
+                .map(Community::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Community not found with name: " + communityName));
+    }
+}
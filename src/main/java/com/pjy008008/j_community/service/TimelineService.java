@@ -0,0 +1,145 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.entity.Community;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.entity.TimelineEntry;
+import com.pjy008008.j_community.repository.CommunityRepository;
+import com.pjy008008.j_community.repository.PostRepository;
+import com.pjy008008.j_community.repository.TimelineEntryRepository;
+import com.pjy008008.j_community.repository.UserCommunityRepository;
+import com.pjy008008.j_community.support.FeedCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 가입한 커뮤니티 기반 홈 타임라인.
+// 멤버 수가 임계치 이하인 커뮤니티는 글 작성 시 멤버별 타임라인에 미리 기록(fan-out-on-write)하고,
+// 그보다 큰 커뮤니티는 읽을 때 최신 글을 직접 조회해 병합(fan-out-on-read)한다.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TimelineService {
+
+    private static final Comparator<Post> LATEST_FIRST = Comparator
+            .comparing(Post::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(Post::getId, Comparator.reverseOrder());
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final UserCommunityRepository userCommunityRepository;
+    private final PostRepository postRepository;
+    private final CommunityRepository communityRepository;
+
+    @Value("${timeline.fan-out.max-members}")
+    private int fanOutMaxMembers;
+
+    @Value("${timeline.backfill-days}")
+    private int backfillDays;
+
+    @Transactional
+    public void fanOut(Post post) {
+        if (isFanOutOnRead(post.getCommunity())) {
+            return;
+        }
+        timelineEntryRepository.fanOut(post.getId());
+    }
+
+    @Transactional
+    public void removePost(Long postId) {
+        timelineEntryRepository.deleteByPostId(postId);
+    }
+
+    // 새로 가입한 커뮤니티의 최근 글을 타임라인에 채워 넣는다
+    @Transactional
+    public void onJoin(Long userId, Community community) {
+        if (isFanOutOnRead(community)) {
+            return;
+        }
+        timelineEntryRepository.backfill(userId, community.getId(), LocalDateTime.now().minusDays(backfillDays));
+    }
+
+    // 탈퇴로 임계치 이하가 된 커뮤니티는 pull 모드 동안 올라온 글이 타임라인에 없으므로 다시 채운다
+    @Transactional
+    public void onLeave(Long userId, Long communityId) {
+        timelineEntryRepository.deleteByUserIdAndCommunityId(userId, communityId);
+        if (communityRepository.findMemberCountById(communityId) == fanOutMaxMembers) {
+            backfillMembers(communityId);
+        }
+    }
+
+    @Transactional
+    public void backfillMembers(Long communityId) {
+        timelineEntryRepository.backfillMembers(communityId, LocalDateTime.now().minusDays(backfillDays));
+    }
+
+    @Transactional
+    public void removeUser(Long userId) {
+        timelineEntryRepository.deleteByUserId(userId);
+    }
+
+    @Transactional
+    public void removeCommunity(Long communityId) {
+        timelineEntryRepository.deleteByCommunityId(communityId);
+    }
+
+    // 회원 탈퇴/멤버 수 보정으로 pull 모드에서 벗어나는 커뮤니티 (CounterReconciliationService에서 보정 직전에 조회)
+    public List<Long> findCommunitiesLeavingPullMode(Long fromId, Long toId) {
+        return communityRepository.findIdsDroppingToMemberCount(fromId, toId, fanOutMaxMembers);
+    }
+
+    public List<Post> findTimeline(Long userId, FeedCursor position, int limit) {
+        List<Long> pulledCommunityIds =
+                userCommunityRepository.findCommunityIdsByUserIdAndMemberCountGreaterThan(userId, fanOutMaxMembers);
+
+        List<Post> pulled;
+        if (pulledCommunityIds.isEmpty()) {
+            pulled = List.of();
+        } else if (position == null) {
+            pulled = postRepository.findLatestByCommunities(pulledCommunityIds, Limit.of(limit));
+        } else {
+            pulled = postRepository.findLatestByCommunitiesBefore(
+                    pulledCommunityIds, position.createdAt(), position.id(), Limit.of(limit));
+        }
+
+        Map<Long, Post> postsById = findPushed(userId, position, limit);
+        pulled.forEach(post -> postsById.putIfAbsent(post.getId(), post));
+
+        return postsById.values().stream()
+                .sorted(LATEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    // 항목은 FK가 없어 이미 삭제된 게시글을 가리킬 수 있다. 그런 항목은 건너뛰고,
+    // 살아 있는 글이 limit개 모이거나 항목이 끝날 때까지 마지막으로 읽은 항목 다음부터 이어 읽는다
+    private Map<Long, Post> findPushed(Long userId, FeedCursor position, int limit) {
+        Map<Long, Post> postsById = new HashMap<>();
+        LocalDateTime createdAt = (position != null) ? position.createdAt() : null;
+        Long postId = (position != null) ? position.id() : null;
+        while (postsById.size() < limit) {
+            List<TimelineEntry> entries = (postId == null)
+                    ? timelineEntryRepository.findLatest(userId, Limit.of(limit))
+                    : timelineEntryRepository.findLatestBefore(userId, createdAt, postId, Limit.of(limit));
+            postRepository.findAllById(entries.stream().map(TimelineEntry::getPostId).toList())
+                    .forEach(post -> postsById.put(post.getId(), post));
+            if (entries.size() < limit) {
+                break;
+            }
+            TimelineEntry last = entries.getLast();
+            createdAt = last.getPostCreatedAt();
+            postId = last.getPostId();
+        }
+        return postsById;
+    }
+
+    private boolean isFanOutOnRead(Community community) {
+        return community.getMemberCount() > fanOutMaxMembers;
+    }
+}
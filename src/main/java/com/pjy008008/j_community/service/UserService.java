@@ -8,6 +8,7 @@ import com.pjy008008.j_community.exception.ResourceNotFoundException;
 import com.pjy008008.j_community.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -27,11 +28,14 @@ public class UserService {
     private final SavedPostRepository savedPostRepository;
     private final CommunityRepository communityRepository;
     private final UserCommunityRepository userCommunityRepository;
+    private final TimelineService timelineService;
+    private final NotificationService notificationService;
+    private final PostHydrator postHydrator;
 
     public Page<PostResponse> getMyPosts(String username, Pageable pageable) {
         User user = getUserByUsername(username);
         Page<Post> posts = postRepository.findByAuthorIdOrderByCreatedAtDesc(user.getId(), pageable);
-        return posts.map(PostResponse::from);
+        return new PageImpl<>(postHydrator.hydrate(posts.getContent(), username), pageable, posts.getTotalElements());
     }
 
     @Transactional
@@ -50,6 +54,8 @@ public class UserService {
                 .build();
 
         userCommunityRepository.save(userCommunity);
+        communityRepository.updateMemberCount(community.getId(), 1);
+        timelineService.onJoin(user.getId(), community);
     }
 
     @Transactional
@@ -62,6 +68,8 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Not joined this community"));
 
         userCommunityRepository.delete(userCommunity);
+        communityRepository.updateMemberCount(community.getId(), -1);
+        timelineService.onLeave(user.getId(), community.getId());
     }
 
     @Transactional
@@ -94,8 +102,16 @@ public class UserService {
         User user = getUserByUsername(username);
 
         Page<SavedPost> savedPosts = savedPostRepository.findAllByUserId(user.getId(), pageable);
+        List<Post> posts = savedPosts.getContent().stream().map(SavedPost::getPost).toList();
 
-        return savedPosts.map(sp -> PostResponse.from(sp.getPost()));
+        return new PageImpl<>(postHydrator.hydrate(posts, username), pageable, savedPosts.getTotalElements());
+    }
+
+    // 알림은 회원 FK에 cascade가 없으므로 회원을 지우는 트랜잭션 안에서 먼저 지운다
+    @Transactional
+    public void withdraw(User user) {
+        notificationService.removeUser(user.getId());
+        userRepository.delete(user);
     }
 
     private User getUserByUsername(String username) {
@@ -0,0 +1,161 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.entity.PostViewSketch;
+import com.pjy008008.j_community.event.PostViewsFlushedEvent;
+import com.pjy008008.j_community.repository.PostViewSketchRepository;
+import com.pjy008008.j_community.support.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 게시글 조회수/고유 조회자 수 집계 (write-behind).
+// 조회 시에는 메모리의 LongAdder와 HyperLogLog 증분만 갱신하고, 주기적으로 모아서 post 테이블에 일괄 반영한다.
+// 비정상 종료 시 잃는 조회 기록은 최대 한 번의 flush 주기분이다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewCountService {
+
+    private final PostViewSketchRepository postViewSketchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 조회 기록끼리는 읽기 락을 공유하고, flush가 버퍼를 교체할 때만 잠깐 쓰기 락을 잡는다
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Map<Long, PendingViews> pending = new ConcurrentHashMap<>();
+
+    public void recordView(Long postId, String viewerKey) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            pending.computeIfAbsent(postId, id -> new PendingViews()).record(viewerKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Transactional
+    public void removePost(Long postId) {
+        postViewSketchRepository.deleteByPostId(postId);
+    }
+
+    @Scheduled(
+            initialDelayString = "${view.flush.interval-ms}",
+            fixedDelayString = "${view.flush.interval-ms}"
+    )
+    public void flush() {
+        Map<Long, PendingViews> drained = swap();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(drained));
+            eventPublisher.publishEvent(new PostViewsFlushedEvent(drained.keySet()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush view counts for {} posts, retrying on next flush", drained.size(), e);
+            restore(drained);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Map<Long, PendingViews> swap() {
+        Lock lock = swapLock.writeLock();
+        lock.lock();
+        try {
+            Map<Long, PendingViews> drained = pending;
+            pending = new ConcurrentHashMap<>();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Map<Long, PendingViews> drained) {
+        Map<Long, HyperLogLog> stored = new HashMap<>();
+        for (PostViewSketch sketch : postViewSketchRepository.findAllById(drained.keySet())) {
+            stored.put(sketch.getPostId(), HyperLogLog.fromBytes(sketch.getRegisters()));
+        }
+
+        List<Long> postIds = new ArrayList<>(drained.keySet());
+        List<HyperLogLog> merged = new ArrayList<>(postIds.size());
+        List<Object[]> counterArgs = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            PendingViews views = drained.get(postId);
+            HyperLogLog sketch = stored.getOrDefault(postId, new HyperLogLog());
+            sketch.merge(views.sketch);
+            merged.add(sketch);
+            counterArgs.add(new Object[]{views.count.sum(), sketch.estimate(), postId});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE post SET view_count = view_count + ?, unique_viewers = ? WHERE id = ?", counterArgs);
+
+        List<Object[]> sketchUpdates = new ArrayList<>();
+        List<Object[]> sketchInserts = new ArrayList<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            // 그 사이 삭제된 게시글은 스케치를 남기지 않는다
+            if (updated[i] == 0) {
+                continue;
+            }
+            Long postId = postIds.get(i);
+            byte[] registers = merged.get(i).toBytes();
+            if (stored.containsKey(postId)) {
+                sketchUpdates.add(new Object[]{registers, postId});
+            } else {
+                sketchInserts.add(new Object[]{postId, registers});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE post_view_sketches SET registers = ? WHERE post_id = ?", sketchUpdates);
+        jdbcTemplate.batchUpdate("INSERT INTO post_view_sketches (post_id, registers) VALUES (?, ?)", sketchInserts);
+    }
+
+    private void restore(Map<Long, PendingViews> drained) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            drained.forEach((postId, views) ->
+                    pending.computeIfAbsent(postId, id -> new PendingViews()).absorb(views));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class PendingViews {
+
+        private final LongAdder count = new LongAdder();
+        private final HyperLogLog sketch = new HyperLogLog();
+
+        void record(String viewerKey) {
+            count.increment();
+            sketch.offer(viewerKey);
+        }
+
+        void absorb(PendingViews other) {
+            count.add(other.count.sum());
+            sketch.merge(other.sketch);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.event.VotesFlushedEvent;
+import com.pjy008008.j_community.support.CommentRanking;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+// 투표 점수 write-behind 집계 (vote.write-behind.enabled=true일 때 사용).
+// 투표 행(PostVote/CommentVote)은 요청 트랜잭션에서 기록하고, 점수 변화량만 커밋 후 LongAdder에 모았다가
+// 주기적으로 UPDATE ... SET votes = votes + ? 배치로 반영한다. 인기 글 하나에 몰린 투표가 같은 행 락을 기다리지 않는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VoteAggregator {
+
+    // hot_rank의 득표 항만 이전 값에서 새 값으로 바꾼다. SET 절을 왼쪽부터 평가하는 DB도 있어 hot_rank를 먼저 둔다
+    static final String UPDATE_POST_VOTES = "UPDATE post SET " +
+            "hot_rank = hot_rank - SIGN(votes) * LOG10(GREATEST(ABS(votes), 1)) " +
+            "+ SIGN(votes + ?) * LOG10(GREATEST(ABS(votes + ?), 1)), " +
+            "votes = votes + ? " +
+            "WHERE id = ?";
+    static final String UPDATE_COMMENT_VOTES = "UPDATE comment SET votes = votes + ? - ?, " +
+            "upvotes = upvotes + ?, downvotes = downvotes + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${vote.write-behind.enabled}")
+    private boolean enabled;
+
+    // pending/flushing 두 필드를 함께 바꾸고 읽는 락
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // flush 커밋(또는 롤백 후 되돌리기)과 flushing 비우기를 "DB 값 + 대기분" 읽기와 겹치지 않게 하는 락
+    private final ReadWriteLock flushGuard = new ReentrantReadWriteLock();
+    private Deltas pending = new Deltas();
+    private Deltas flushing = new Deltas();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 롤백된 투표가 점수에 반영되지 않도록 커밋 이후에 누적
+    public void addPostDeltaAfterCommit(Long postId, int delta) {
+        afterCommit(() -> add(deltas -> deltas.posts, postId, delta));
+    }
+
+    // 댓글은 best/controversial 정렬 키 계산을 위해 추천/비추천 수를 따로 모은다.
+    // postId는 flush 후 그 게시글의 댓글 캐시/ETag 버전을 올리는 데 쓴다
+    public void addCommentDeltaAfterCommit(Long commentId, Long postId, int upDelta, int downDelta) {
+        afterCommit(() -> {
+            add(deltas -> deltas.commentUpvotes, commentId, upDelta);
+            add(deltas -> deltas.commentDownvotes, commentId, downDelta);
+            addCommentPost(commentId, postId);
+        });
+    }
+
+    // 아직 DB에 반영되지 않은 변화량 (응답에 보여줄 점수 보정용)
+    public int pendingPostDelta(Long postId) {
+        return readDeltas(deltas -> sum(deltas.posts, postId));
+    }
+
+    public int pendingCommentDelta(Long commentId) {
+        return readDeltas(deltas -> sum(deltas.commentUpvotes, commentId) - sum(deltas.commentDownvotes, commentId));
+    }
+
+    // DB에서 읽은 점수에 대기분을 더하는 동안 flush가 커밋되면 같은 변화량이 DB와 flushing에 동시에 보여 두 번 세어진다.
+    // 읽기 전체를 이 안에서 하면 커밋과 flushing 비우기가 그 사이에 끼어들지 않는다
+    public <T> T readWithPending(Supplier<T> read) {
+        Lock lock = flushGuard.readLock();
+        lock.lock();
+        try {
+            return read.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vote.write-behind.flush-interval-ms}")
+    public void flush() {
+        Deltas drained = swap();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        // [0]: 커밋됨, [1]: settle 완료
+        boolean[] outcome = {false, false};
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCompletion() {
+                        flushGuard.writeLock().lock();
+                    }
+
+                    @Override
+                    public void afterCompletion(int completion) {
+                        try {
+                            outcome[0] = (completion == STATUS_COMMITTED);
+                            settle(drained, outcome[0]);
+                            outcome[1] = true;
+                        } finally {
+                            flushGuard.writeLock().unlock();
+                        }
+                    }
+                });
+                jdbcTemplate.batchUpdate(UPDATE_POST_VOTES, drained.posts.entrySet().stream()
+                        .map(e -> {
+                            long delta = e.getValue().sum();
+                            return new Object[]{delta, delta, delta, e.getKey()};
+                        })
+                        .toList());
+                List<Long> commentIds = drained.commentIds();
+                jdbcTemplate.batchUpdate(UPDATE_COMMENT_VOTES, commentIds.stream()
+                        .map(id -> {
+                            int up = sum(drained.commentUpvotes, id);
+                            int down = sum(drained.commentDownvotes, id);
+                            return new Object[]{up, down, up, down, id};
+                        })
+                        .toList());
+                jdbcTemplate.batchUpdate(CommentRanking.REFRESH_SQL, commentIds.stream()
+                        .map(id -> new Object[]{id})
+                        .toList());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush vote deltas (posts={}, comments={}), retrying on next flush",
+                    drained.posts.size(), drained.commentIds().size(), e);
+            // 트랜잭션을 시작하지도 못했으면 동기화 콜백이 불리지 않는다
+            if (!outcome[1]) {
+                settle(drained, false);
+            }
+        }
+
+        // 투표 시점의 이벤트는 DB 반영 전에 버전을 올렸으므로, 그 사이 DB에서 읽어 캐시된 점수를 여기서 무효화한다
+        if (outcome[0]) {
+            eventPublisher.publishEvent(new VotesFlushedEvent(
+                    Set.copyOf(drained.posts.keySet()), Set.copyOf(drained.commentPosts.values())));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Deltas swap() {
+        Lock lock = swapLock.writeLock();
+        lock.lock();
+        try {
+            Deltas drained = pending;
+            pending = new Deltas();
+            flushing = drained;
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 커밋됐으면 flushing을 비우고, 실패했으면 다음 flush에서 다시 시도하도록 pending으로 되돌린다.
+    // 되돌리기와 비우기를 한 번에 해야 그 사이 읽은 대기분에 같은 변화량이 두 번 들어가지 않는다
+    private void settle(Deltas drained, boolean committed) {
+        Lock lock = swapLock.writeLock();
+        lock.lock();
+        try {
+            if (!committed) {
+                drained.posts.forEach((id, delta) -> addTo(pending.posts, id, delta.sum()));
+                drained.commentUpvotes.forEach((id, delta) -> addTo(pending.commentUpvotes, id, delta.sum()));
+                drained.commentDownvotes.forEach((id, delta) -> addTo(pending.commentDownvotes, id, delta.sum()));
+                drained.commentPosts.forEach(pending.commentPosts::putIfAbsent);
+            }
+            flushing = new Deltas();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int readDeltas(ToIntFunction<Deltas> delta) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            return delta.applyAsInt(pending) + delta.applyAsInt(flushing);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addCommentPost(Long commentId, Long postId) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            pending.commentPosts.put(commentId, postId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(Function<Deltas, Map<Long, LongAdder>> target, Long id, long delta) {
+        Lock lock = swapLock.readLock();
+        lock.lock();
+        try {
+            addTo(target.apply(pending), id, delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void addTo(Map<Long, LongAdder> deltas, Long id, long delta) {
+        deltas.computeIfAbsent(id, key -> new LongAdder()).add(delta);
+    }
+
+    private static int sum(Map<Long, LongAdder> deltas, Long id) {
+        LongAdder delta = deltas.get(id);
+        return (delta != null) ? delta.intValue() : 0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Deltas {
+
+        private final Map<Long, LongAdder> posts = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> commentUpvotes = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> commentDownvotes = new ConcurrentHashMap<>();
+        private final Map<Long, Long> commentPosts = new ConcurrentHashMap<>();
+
+        boolean isEmpty() {
+            return posts.isEmpty() && commentUpvotes.isEmpty() && commentDownvotes.isEmpty();
+        }
+
+        List<Long> commentIds() {
+            Set<Long> ids = new HashSet<>(commentUpvotes.keySet());
+            ids.addAll(commentDownvotes.keySet());
+            return List.copyOf(ids);
+        }
+    }
+}
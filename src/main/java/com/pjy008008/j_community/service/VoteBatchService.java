@@ -0,0 +1,319 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.controller.dto.VoteBatchRequest;
+import com.pjy008008.j_community.controller.dto.VoteBatchResult;
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.event.CommentVotedEvent;
+import com.pjy008008.j_community.event.PostVotedEvent;
+import com.pjy008008.j_community.exception.DuplicateResourceException;
+import com.pjy008008.j_community.exception.ResourceNotFoundException;
+import com.pjy008008.j_community.model.NotificationType;
+import com.pjy008008.j_community.model.VoteTargetType;
+import com.pjy008008.j_community.model.VoteType;
+import com.pjy008008.j_community.repository.CommentRepository;
+import com.pjy008008.j_community.repository.CommentVoteRepository;
+import com.pjy008008.j_community.repository.PostRepository;
+import com.pjy008008.j_community.repository.PostVoteRepository;
+import com.pjy008008.j_community.repository.UserRepository;
+import com.pjy008008.j_community.repository.VoteCount;
+import com.pjy008008.j_community.support.CommentRanking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 오프라인에 쌓였다가 한꺼번에 재전송된 투표를 한 트랜잭션에서 처리한다.
+// 사용자·대상·기존 투표는 IN 쿼리로 한 번씩만 읽고, 투표 행·점수·알림은 JDBC 배치로 반영한다.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class VoteBatchService {
+
+    private static final VoteTable POST_VOTES = VoteTable.of("post_votes", "post_id");
+    private static final VoteTable COMMENT_VOTES = VoteTable.of("comment_votes", "comment_id");
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostVoteRepository postVoteRepository;
+    private final CommentVoteRepository commentVoteRepository;
+    private final NotificationService notificationService;
+    private final VoteAggregator voteAggregator;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<VoteBatchResult> vote(List<VoteBatchRequest.Item> items, String username) {
+        Long userId = userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        Map<Long, VoteState> postStates = new LinkedHashMap<>();
+        Map<Long, VoteState> commentStates = new LinkedHashMap<>();
+        for (VoteBatchRequest.Item item : items) {
+            statesOf(item.targetType(), postStates, commentStates).putIfAbsent(item.targetId(), new VoteState());
+        }
+
+        Map<Long, Post> posts = loadPosts(postStates.keySet());
+        Map<Long, Comment> comments = loadComments(commentStates.keySet());
+
+        if (!postStates.isEmpty()) {
+            postVoteRepository.findByUserIdAndPostIdIn(userId, List.copyOf(postStates.keySet()))
+                    .forEach(vote -> postStates.get(vote.getPost().getId()).init(vote.getVoteType()));
+        }
+        if (!commentStates.isEmpty()) {
+            commentVoteRepository.findByUserIdAndCommentIdIn(userId, commentStates.keySet())
+                    .forEach(vote -> commentStates.get(vote.getComment().getId()).init(vote.getVoteType()));
+        }
+
+        // 같은 대상을 여러 번 누른 경우도 단건 API와 같은 토글 규칙으로 순서대로 접어서 최종 상태만 쓴다
+        for (VoteBatchRequest.Item item : items) {
+            statesOf(item.targetType(), postStates, commentStates).get(item.targetId()).toggle(item.voteType());
+        }
+
+        writeVotes(POST_VOTES, userId, postStates);
+        writeVotes(COMMENT_VOTES, userId, commentStates);
+
+        Map<Long, Integer> postVotes = applyPostScores(postStates);
+        Map<Long, Integer> commentVotes = applyCommentScores(commentStates, comments);
+
+        sendUpvoteNotifications(userId, postStates, posts, commentStates, comments);
+
+        List<VoteBatchResult> results = new ArrayList<>(postStates.size() + commentStates.size());
+        postStates.forEach((postId, state) -> {
+            int votes = postVotes.get(postId);
+            if (state.delta != 0) {
+                eventPublisher.publishEvent(new PostVotedEvent(postId, votes, username, state.current));
+            }
+            results.add(new VoteBatchResult(VoteTargetType.POST, postId, votes, state.current));
+        });
+        commentStates.forEach((commentId, state) -> {
+            int votes = commentVotes.get(commentId);
+            if (state.delta != 0) {
+                eventPublisher.publishEvent(new CommentVotedEvent(
+                        commentId, comments.get(commentId).getPost().getId(), votes, username, state.current));
+            }
+            results.add(new VoteBatchResult(VoteTargetType.COMMENT, commentId, votes, state.current));
+        });
+        return results;
+    }
+
+    private static Map<Long, VoteState> statesOf(VoteTargetType type,
+                                                 Map<Long, VoteState> postStates,
+                                                 Map<Long, VoteState> commentStates) {
+        return (type == VoteTargetType.POST) ? postStates : commentStates;
+    }
+
+    private Map<Long, Post> loadPosts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Post> posts = postRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        for (Long postId : postIds) {
+            if (!posts.containsKey(postId)) {
+                throw new ResourceNotFoundException("Post not found: " + postId);
+            }
+        }
+        return posts;
+    }
+
+    private Map<Long, Comment> loadComments(Collection<Long> commentIds) {
+        if (commentIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Comment> comments = commentRepository.findAllById(commentIds).stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+        for (Long commentId : commentIds) {
+            if (!comments.containsKey(commentId)) {
+                throw new ResourceNotFoundException("Comment not found: " + commentId);
+            }
+        }
+        return comments;
+    }
+
+    // 읽어 둔 투표 상태를 조건으로 걸어 쓰므로, 그 사이 다른 요청이 바꿨다면 0건이 되어 전체를 되돌린다
+    private void writeVotes(VoteTable table, Long userId, Map<Long, VoteState> states) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+
+        states.forEach((targetId, state) -> {
+            if (state.initial == state.current) {
+                return;
+            }
+            if (state.current == null) {
+                deletes.add(new Object[]{userId, targetId, state.initial.name()});
+            } else if (state.initial == null) {
+                inserts.add(new Object[]{userId, targetId, state.current.name(), now, now});
+            } else {
+                updates.add(new Object[]{state.current.name(), now, userId, targetId, state.initial.name()});
+            }
+        });
+
+        executeBatch(table.deleteSql(), deletes);
+        executeBatch(table.updateSql(), updates);
+        executeBatch(table.insertSql(), inserts);
+    }
+
+    private void executeBatch(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (int count : jdbcTemplate.batchUpdate(sql, rows)) {
+            if (count == 0) {
+                throw new DuplicateResourceException("Vote was changed concurrently");
+            }
+        }
+    }
+
+    private Map<Long, Integer> applyPostScores(Map<Long, VoteState> states) {
+        if (states.isEmpty()) {
+            return Map.of();
+        }
+        if (!voteAggregator.isEnabled()) {
+            List<Object[]> rows = new ArrayList<>();
+            states.forEach((postId, state) -> {
+                if (state.delta != 0) {
+                    rows.add(new Object[]{state.delta, state.delta, state.delta, postId});
+                }
+            });
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(VoteAggregator.UPDATE_POST_VOTES, rows);
+            }
+            return toVoteMap(postRepository.findVoteCountsByIdIn(states.keySet()));
+        }
+
+        Map<Long, Integer> votes = voteAggregator.readWithPending(() -> {
+            Map<Long, Integer> stored = toVoteMap(postRepository.findVoteCountsByIdIn(states.keySet()));
+            states.keySet().forEach(postId -> stored.merge(postId, voteAggregator.pendingPostDelta(postId), Integer::sum));
+            return stored;
+        });
+        states.forEach((postId, state) -> {
+            votes.merge(postId, state.delta, Integer::sum);
+            if (state.delta != 0) {
+                voteAggregator.addPostDeltaAfterCommit(postId, state.delta);
+            }
+        });
+        return votes;
+    }
+
+    private Map<Long, Integer> applyCommentScores(Map<Long, VoteState> states, Map<Long, Comment> comments) {
+        if (states.isEmpty()) {
+            return Map.of();
+        }
+        if (!voteAggregator.isEnabled()) {
+            List<Object[]> rows = new ArrayList<>();
+            List<Object[]> rankingRows = new ArrayList<>();
+            states.forEach((commentId, state) -> {
+                if (state.delta != 0) {
+                    rows.add(new Object[]{state.upDelta(), state.downDelta(), state.upDelta(), state.downDelta(), commentId});
+                    rankingRows.add(new Object[]{commentId});
+                }
+            });
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(VoteAggregator.UPDATE_COMMENT_VOTES, rows);
+                jdbcTemplate.batchUpdate(CommentRanking.REFRESH_SQL, rankingRows);
+            }
+            return toVoteMap(commentRepository.findVoteCountsByIdIn(states.keySet()));
+        }
+
+        // DB 값과 반영 대기분은 flush 커밋과 겹치지 않게 함께 읽는다
+        Map<Long, Integer> votes = voteAggregator.readWithPending(() -> {
+            Map<Long, Integer> stored = toVoteMap(commentRepository.findVoteCountsByIdIn(states.keySet()));
+            states.keySet().forEach(commentId ->
+                    stored.merge(commentId, voteAggregator.pendingCommentDelta(commentId), Integer::sum));
+            return stored;
+        });
+        states.forEach((commentId, state) -> {
+            votes.merge(commentId, state.delta, Integer::sum);
+            if (state.delta != 0) {
+                voteAggregator.addCommentDeltaAfterCommit(
+                        commentId, comments.get(commentId).getPost().getId(), state.upDelta(), state.downDelta());
+            }
+        });
+        return votes;
+    }
+
+    private static Map<Long, Integer> toVoteMap(List<VoteCount> counts) {
+        return counts.stream().collect(Collectors.toMap(VoteCount::getId, VoteCount::getVotes));
+    }
+
+    // 배치 전후로 새로 생긴 추천에만 알림을 보낸다 (눌렀다 취소한 것은 보내지 않음)
+    private void sendUpvoteNotifications(Long userId,
+                                         Map<Long, VoteState> postStates, Map<Long, Post> posts,
+                                         Map<Long, VoteState> commentStates, Map<Long, Comment> comments) {
+        postStates.forEach((postId, state) -> {
+            if (state.isNewUpvote()) {
+                Post post = posts.get(postId);
+                notificationService.send(post.getAuthor().getId(), userId, NotificationType.UPVOTE_POST, postId, post.getTitle());
+            }
+        });
+        commentStates.forEach((commentId, state) -> {
+            if (state.isNewUpvote()) {
+                Comment comment = comments.get(commentId);
+                notificationService.send(comment.getAuthor().getId(), userId, NotificationType.UPVOTE_COMMENT, commentId, comment.getContent());
+            }
+        });
+    }
+
+    private static final class VoteState {
+        private VoteType initial;
+        private VoteType current;
+        private int delta;
+
+        void init(VoteType voteType) {
+            initial = voteType;
+            current = voteType;
+        }
+
+        void toggle(VoteType voteType) {
+            if (current == voteType) {
+                delta -= voteType.getValue();
+                current = null;
+                return;
+            }
+            if (current != null) {
+                delta -= current.getValue();
+            }
+            delta += voteType.getValue();
+            current = voteType;
+        }
+
+        boolean isNewUpvote() {
+            return initial == null && current == VoteType.UP;
+        }
+
+        int upDelta() {
+            return (current == VoteType.UP ? 1 : 0) - (initial == VoteType.UP ? 1 : 0);
+        }
+
+        int downDelta() {
+            return (current == VoteType.DOWN ? 1 : 0) - (initial == VoteType.DOWN ? 1 : 0);
+        }
+    }
+
+    private record VoteTable(String deleteSql, String updateSql, String insertSql) {
+        static VoteTable of(String table, String targetColumn) {
+            return new VoteTable(
+                    "DELETE FROM " + table + " WHERE user_id = ? AND " + targetColumn + " = ? AND vote_type = ?",
+                    "UPDATE " + table + " SET vote_type = ?, updated_at = ? " +
+                            "WHERE user_id = ? AND " + targetColumn + " = ? AND vote_type = ?",
+                    "INSERT INTO " + table + " (user_id, " + targetColumn + ", vote_type, created_at, updated_at) " +
+                            "VALUES (?, ?, ?, ?, ?)");
+        }
+    }
+}
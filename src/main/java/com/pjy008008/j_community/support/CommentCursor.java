@@ -0,0 +1,87 @@
+package com.pjy008008.j_community.support;
+
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.exception.InvalidCursorException;
+import com.pjy008008.j_community.model.CommentSort;
+import com.pjy008008.j_community.repository.CommentRow;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+// 형제 댓글 목록의 keyset 위치. parentId가 null이면 최상위 댓글 목록이고, id가 null이면 목록의 처음부터 읽는다.
+// "답글 더 보기"는 마지막으로 보여 준 답글 뒤에서, "스레드 이어 보기"는 처음부터 이어 읽는 커서를 받는다.
+public record CommentCursor(CommentSort sort, Long parentId, Object key, Long id) {
+
+    public static CommentCursor start(CommentSort sort, Long parentId) {
+        return new CommentCursor(sort, parentId, null, null);
+    }
+
+    public static CommentCursor after(CommentSort sort, Long parentId, Comment comment) {
+        Object key = switch (sort) {
+            case OLD, NEW -> comment.getCreatedAt();
+            case BEST -> comment.getBestScore();
+            case TOP -> comment.getVotes();
+            case CONTROVERSIAL -> comment.getControversy();
+        };
+        return new CommentCursor(sort, parentId, key, comment.getId());
+    }
+
+    public static CommentCursor after(CommentSort sort, Long parentId, CommentRow row) {
+        Object key = switch (sort) {
+            case OLD, NEW -> row.createdAt();
+            case BEST -> row.bestScore();
+            case TOP -> row.votes();
+            case CONTROVERSIAL -> row.controversy();
+        };
+        return new CommentCursor(sort, parentId, key, row.id());
+    }
+
+    public static CommentCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 4);
+        try {
+            CommentSort sort = CommentSort.valueOf(parts[0]);
+            Long parentId = parts[1].isEmpty() ? null : Long.valueOf(parts[1]);
+            if (parts[3].isEmpty()) {
+                return start(sort, parentId);
+            }
+            Object key = switch (sort) {
+                case OLD, NEW -> LocalDateTime.parse(parts[2]);
+                case BEST, CONTROVERSIAL -> Double.valueOf(parts[2]);
+                case TOP -> Integer.valueOf(parts[2]);
+            };
+            return new CommentCursor(sort, parentId, key, Long.valueOf(parts[3]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // 형제 댓글은 (post_id, parent_id, 정렬 키, id) 인덱스의 정렬 키 순서를 따른다
+    public static Sort toSort(CommentSort sort) {
+        return switch (sort) {
+            case OLD -> Sort.by(Sort.Direction.ASC, "createdAt", "id");
+            case NEW -> Sort.by(Sort.Direction.DESC, "createdAt", "id");
+            case BEST -> Sort.by(Sort.Direction.DESC, "bestScore", "id");
+            case TOP -> Sort.by(Sort.Direction.DESC, "votes", "id");
+            case CONTROVERSIAL -> Sort.by(Sort.Direction.DESC, "controversy", "id");
+        };
+    }
+
+    public Sort toSort() {
+        return toSort(sort);
+    }
+
+    public ScrollPosition toScrollPosition() {
+        if (id == null) {
+            return ScrollPosition.keyset();
+        }
+        String property = toSort().iterator().next().getProperty();
+        return ScrollPosition.forward(Map.of(property, key, "id", id));
+    }
+
+    public String encode() {
+        return CursorCodec.encode(sort, parentId != null ? parentId : "", key != null ? key : "", id != null ? id : "");
+    }
+}
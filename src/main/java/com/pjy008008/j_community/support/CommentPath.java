@@ -0,0 +1,31 @@
+package com.pjy008008.j_community.support;
+
+// 댓글 materialized path. 루트부터 자기 자신까지의 id를 고정 폭 base-36 세그먼트로 이어 붙인다.
+// 세그먼트 폭이 같으므로 문자열 순서가 곧 트리의 전위 순회 순서이고, 한 댓글의 하위 트리는 (path, path + '~') 구간이 된다.
+public final class CommentPath {
+
+    public static final int SEGMENT_WIDTH = 8;
+    public static final int MAX_LENGTH = 2048;
+    public static final int MAX_DEPTH = MAX_LENGTH / SEGMENT_WIDTH - 1;
+
+    // base-36 문자(0-9, a-z)보다 뒤에 오는 문자
+    private static final char UPPER_BOUND = '~';
+    private static final String PADDING = "0".repeat(SEGMENT_WIDTH);
+
+    private CommentPath() {
+    }
+
+    public static String of(String parentPath, long id) {
+        String segment = Long.toString(id, 36);
+        if (segment.length() > SEGMENT_WIDTH) {
+            throw new IllegalStateException("Comment id does not fit in a path segment: " + id);
+        }
+        String padded = PADDING.substring(segment.length()) + segment;
+        return (parentPath != null) ? parentPath + padded : padded;
+    }
+
+    // 하위 댓글 범위의 (배타적) 상한
+    public static String subtreeUpperBound(String path) {
+        return path + UPPER_BOUND;
+    }
+}
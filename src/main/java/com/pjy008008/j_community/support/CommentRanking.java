@@ -0,0 +1,27 @@
+package com.pjy008008.j_community.support;
+
+// 댓글 정렬 키를 comment 테이블의 upvotes/downvotes 컬럼으로 계산하는 SQL 식.
+// best: 추천 비율에 대한 Wilson 점수 신뢰구간의 하한 (z = 1.281551565545, 80%). 투표가 적은 댓글은 비율이 높아도 낮게 평가된다.
+//       (u + z²/2 - z·√(u·d/n + z²/4)) / (n + z²), n = u + d
+// controversial: 추천과 비추천이 많고 비슷할수록 큰 값. n ^ (적은 쪽 / 많은 쪽)
+public final class CommentRanking {
+
+    private static final double Z = 1.281551565545;
+    private static final double Z2 = Z * Z;
+
+    public static final String BEST_SCORE_SQL = "CASE WHEN upvotes + downvotes = 0 THEN 0 ELSE " +
+            "(upvotes + " + (Z2 / 2) + " - " + Z + " * SQRT(CAST(upvotes AS DOUBLE PRECISION) * downvotes " +
+            "/ (upvotes + downvotes) + " + (Z2 / 4) + ")) / (upvotes + downvotes + " + Z2 + ") END";
+
+    public static final String CONTROVERSY_SQL = "CASE WHEN upvotes = 0 OR downvotes = 0 THEN 0 ELSE " +
+            "POWER(CAST(upvotes + downvotes AS DOUBLE PRECISION), CASE WHEN upvotes > downvotes " +
+            "THEN CAST(downvotes AS DOUBLE PRECISION) / upvotes " +
+            "ELSE CAST(upvotes AS DOUBLE PRECISION) / downvotes END) END";
+
+    // 추천/비추천 수를 갱신한 뒤 같은 트랜잭션에서 실행한다 (행 락이 잡힌 상태라 다른 투표와 섞이지 않는다)
+    public static final String REFRESH_SQL = "UPDATE comment SET best_score = " + BEST_SCORE_SQL +
+            ", controversy = " + CONTROVERSY_SQL + " WHERE id = ?";
+
+    private CommentRanking() {
+    }
+}
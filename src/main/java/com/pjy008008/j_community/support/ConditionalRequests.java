@@ -0,0 +1,20 @@
+package com.pjy008008.j_community.support;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+// 조건부 GET 처리. true면 304가 설정된 상태이므로 컨트롤러는 본문 없이 바로 반환하면 된다.
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    public static boolean notModified(WebRequest request, String etag) {
+        // Spring Security 기본값(no-store) 대신 매번 재검증하는 private 캐시로 두어야 클라이언트가 ETag를 보관한다
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        return request.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,37 @@
+package com.pjy008008.j_community.support;
+
+import com.pjy008008.j_community.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+// 클라이언트에게는 불투명한(opaque) 문자열로 보이도록 커서 값을 인코딩/디코딩
+public final class CursorCodec {
+
+    private static final String DELIMITER = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... parts) {
+        String raw = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining(DELIMITER));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + DELIMITER, -1);
+            if (parts.length != expectedParts) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pjy008008.j_community.support;
+
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.exception.InvalidCursorException;
+import com.pjy008008.j_community.model.FeedSort;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// 피드의 keyset 위치. NEW는 (createdAt, id), HOT은 (hotRank, id) 기준으로 내림차순 정렬된다.
+public record FeedCursor(FeedSort sort, LocalDateTime createdAt, double hotRank, Long id) {
+
+    public static FeedCursor of(FeedSort sort, Post post) {
+        return new FeedCursor(sort, post.getCreatedAt(), post.getHotRank(), post.getId());
+    }
+
+    public static FeedCursor decode(String cursor, FeedSort expectedSort) {
+        String[] parts = CursorCodec.decode(cursor, 3);
+        try {
+            FeedSort sort = FeedSort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new InvalidCursorException("Cursor does not match sort " + expectedSort + ": " + cursor);
+            }
+            long id = Long.parseLong(parts[2]);
+            return switch (sort) {
+                case NEW -> new FeedCursor(sort, LocalDateTime.parse(parts[1]), 0d, id);
+                case HOT -> new FeedCursor(sort, null, Double.parseDouble(parts[1]), id);
+            };
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        Object key = (sort == FeedSort.NEW) ? createdAt : hotRank;
+        return CursorCodec.encode(sort, key, id);
+    }
+}
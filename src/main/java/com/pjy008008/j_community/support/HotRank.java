@@ -0,0 +1,21 @@
+package com.pjy008008.j_community.support;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Reddit의 hot 알고리즘: 득표수는 로그 스케일, 작성 시각은 선형으로 반영된다.
+// 시간 항이 작성 시각에만 의존하므로 투표가 바뀔 때만 다시 계산하면 정렬 순서가 유지된다.
+public final class HotRank {
+
+    private static final long EPOCH_SECONDS = 1134028003L;
+    private static final double DECAY_SECONDS = 45000d;
+
+    private HotRank() {
+    }
+
+    public static double of(int votes, LocalDateTime createdAt) {
+        double order = Math.log10(Math.max(Math.abs(votes), 1));
+        double seconds = createdAt.toEpochSecond(ZoneOffset.UTC) - EPOCH_SECONDS;
+        return Integer.signum(votes) * order + seconds / DECAY_SECONDS;
+    }
+}
@@ -0,0 +1,127 @@
+package com.pjy008008.j_community.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// 고유 방문자 수 추정용 HyperLogLog (p=12, 레지스터 4096개 = 4KB, 표준오차 약 1.6%).
+// 레지스터를 최댓값으로 합치면 되므로 DB에 저장된 스케치와 메모리의 증분 스케치를 손실 없이 병합할 수 있다.
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    // 레지스터 값은 최대 53이라 1바이트면 충분하므로 int 하나에 4개씩 담는다 (4KB 유지)
+    private static final int REGISTERS_PER_WORD = 4;
+    private static final int LANE_BITS = Byte.SIZE;
+    private static final int LANE_MASK = 0xff;
+
+    // 인기 게시글에 조회가 몰려도 락 없이 갱신하도록 레지스터는 CAS로 최댓값만 올린다.
+    // 레지스터는 증가만 하므로 estimate/toBytes가 갱신 도중의 값을 읽어도 어느 시점의 유효한 스케치다
+    private final AtomicIntegerArray words = new AtomicIntegerArray(REGISTER_COUNT / REGISTERS_PER_WORD);
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes == null || bytes.length != REGISTER_COUNT) {
+            return sketch;
+        }
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            sketch.raise(i, bytes[i] & LANE_MASK);
+        }
+        return sketch;
+    }
+
+    public void offer(String value) {
+        long hash = hash64(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // 상위 p비트는 레지스터 선택에 쓰고, 나머지 비트의 선행 0 개수 + 1을 기록
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        raise(index, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int w = 0; w < words.length(); w++) {
+            int source = other.words.get(w);
+            if (source == 0) {
+                continue;
+            }
+            int current;
+            int merged;
+            do {
+                current = words.get(w);
+                merged = laneMax(current, source);
+            } while (merged != current && !words.compareAndSet(w, current, merged));
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            int register = register(i);
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        // 작은 카디널리티에서는 linear counting이 더 정확하다
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[REGISTER_COUNT];
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            bytes[i] = (byte) register(i);
+        }
+        return bytes;
+    }
+
+    private int register(int index) {
+        return (words.get(index / REGISTERS_PER_WORD) >>> shift(index)) & LANE_MASK;
+    }
+
+    private void raise(int index, int rank) {
+        int w = index / REGISTERS_PER_WORD;
+        int shift = shift(index);
+        int current;
+        do {
+            current = words.get(w);
+            if (((current >>> shift) & LANE_MASK) >= rank) {
+                return;
+            }
+        } while (!words.compareAndSet(w, current, (current & ~(LANE_MASK << shift)) | (rank << shift)));
+    }
+
+    private static int shift(int index) {
+        return (index % REGISTERS_PER_WORD) * LANE_BITS;
+    }
+
+    private static int laneMax(int a, int b) {
+        int result = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += LANE_BITS) {
+            result |= Math.max((a >>> shift) & LANE_MASK, (b >>> shift) & LANE_MASK) << shift;
+        }
+        return result;
+    }
+
+    // FNV-1a 64비트 해시 + MurmurHash3 fmix64로 비트를 고르게 섞는다
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,151 @@
+package com.pjy008008.j_community.support;
+
+import java.util.Arrays;
+
+// long 키 → byte 값 open addressing 해시맵 (선형 탐사).
+// Long/enum 박싱과 엔트리 객체 없이 슬롯당 9바이트만 쓴다. 동기화는 호출하는 쪽에서 한다.
+// 값으로 MISSING(-1)은 저장할 수 없다.
+public final class LongByteHashMap {
+
+    public static final byte MISSING = -1;
+
+    private static final long EMPTY_KEY = 0L;
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private byte[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    // 0은 빈 슬롯 표시로 쓰므로 키 0은 따로 보관한다
+    private boolean hasZeroKey;
+    private byte zeroValue;
+
+    public LongByteHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongByteHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public byte get(long key) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey ? zeroValue : MISSING;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != MISSING;
+    }
+
+    // 이전 값을 반환한다 (없었으면 MISSING)
+    public byte put(long key, byte value) {
+        return put(key, value, true);
+    }
+
+    // 이미 값이 있으면 덮어쓰지 않고 그 값을 반환한다 (없었으면 MISSING)
+    public byte putIfAbsent(long key, byte value) {
+        return put(key, value, false);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    // 배열 본체 기준의 대략적인 힙 사용량 (객체/배열 헤더 포함)
+    public long sizeInBytes() {
+        return 16 + 24 + 8L * keys.length + 16 + values.length;
+    }
+
+    private byte put(long key, byte value, boolean overwrite) {
+        if (value == MISSING) {
+            throw new IllegalArgumentException("MISSING cannot be stored as a value");
+        }
+        if (key == EMPTY_KEY) {
+            if (hasZeroKey) {
+                byte previous = zeroValue;
+                if (overwrite) {
+                    zeroValue = value;
+                }
+                return previous;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            size++;
+            return MISSING;
+        }
+
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                byte previous = values[slot];
+                if (overwrite) {
+                    values[slot] = value;
+                }
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return MISSING;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int slot = slotOf(key);
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new byte[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * 0.75f);
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int required = (int) Math.ceil(Math.max(expectedSize, 1) / 0.75d) + 1;
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(required - 1) << 1);
+    }
+}
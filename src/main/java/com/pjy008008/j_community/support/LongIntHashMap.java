@@ -0,0 +1,75 @@
+package com.pjy008008.j_community.support;
+
+// long 키 → int 값 open addressing 해시맵 (선형 탐사, 삽입/조회 전용).
+// 한 번의 요청 안에서 id → 배열 인덱스를 찾는 용도라 삭제와 동기화는 지원하지 않는다.
+public final class LongIntHashMap {
+
+    public static final int MISSING = -1;
+
+    private static final long EMPTY_KEY = 0L;
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    // 0은 빈 슬롯 표시로 쓰므로 키 0은 따로 보관한다
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    // 크기가 고정되므로 넣을 개수를 미리 알려 준다 (적재율 50% 이하 유지)
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public int get(long key) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey ? zeroValue : MISSING;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY_KEY) {
+            if (!hasZeroKey) {
+                size++;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size >= mask) {
+            throw new IllegalStateException("LongIntHashMap is full");
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
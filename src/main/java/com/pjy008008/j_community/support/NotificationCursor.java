@@ -0,0 +1,28 @@
+package com.pjy008008.j_community.support;
+
+import com.pjy008008.j_community.entity.Notification;
+import com.pjy008008.j_community.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// 알림 목록의 keyset 위치. (updatedAt, id) 내림차순으로 정렬된다.
+public record NotificationCursor(LocalDateTime updatedAt, Long id) {
+
+    public static NotificationCursor of(Notification notification) {
+        return new NotificationCursor(notification.getUpdatedAt(), notification.getId());
+    }
+
+    public static NotificationCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new NotificationCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(updatedAt, id);
+    }
+}
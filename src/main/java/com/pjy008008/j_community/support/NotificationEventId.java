@@ -0,0 +1,28 @@
+package com.pjy008008.j_community.support;
+
+import com.pjy008008.j_community.entity.Notification;
+import com.pjy008008.j_community.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// 알림 스트림의 SSE 이벤트 id. 합쳐진 알림은 같은 행이 다시 바뀌므로 id가 아니라 (updatedAt, id) 순서로 이어 받는다.
+public record NotificationEventId(LocalDateTime updatedAt, Long id) {
+
+    public static NotificationEventId of(Notification notification) {
+        return new NotificationEventId(notification.getUpdatedAt(), notification.getId());
+    }
+
+    public static NotificationEventId decode(String eventId) {
+        String[] parts = CursorCodec.decode(eventId, 2);
+        try {
+            return new NotificationEventId(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Invalid event id: " + eventId);
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(updatedAt, id);
+    }
+}
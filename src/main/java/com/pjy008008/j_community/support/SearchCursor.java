@@ -0,0 +1,20 @@
+package com.pjy008008.j_community.support;
+
+import com.pjy008008.j_community.exception.InvalidCursorException;
+
+// 검색 결과의 searchAfter 위치. (BM25 점수 내림차순, sortKey 내림차순)으로 정렬된다.
+public record SearchCursor(float score, long sortKey) {
+
+    public static SearchCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new SearchCursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(score, sortKey);
+    }
+}
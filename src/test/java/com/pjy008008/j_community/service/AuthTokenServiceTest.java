@@ -0,0 +1,165 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.controller.dto.AuthResponse;
+import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.exception.InvalidRefreshTokenException;
+import com.pjy008008.j_community.repository.UserRepository;
+import com.pjy008008.j_community.security.AuthUser;
+import com.pjy008008.j_community.security.JwtUtil;
+import com.pjy008008.j_community.security.TokenDenyList;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AuthTokenServiceTest {
+
+    private static final int CONCURRENT_REFRESHES = 8;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private TokenDenyList tokenDenyList;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username("auth-" + suffix)
+                .email("auth-" + suffix + "@example.com")
+                .password("password")
+                .build());
+    }
+
+    @Test
+    void refreshRotatesTokenWithinFamily() {
+        AuthResponse login = authTokenService.issue(user);
+
+        AuthResponse refreshed = authTokenService.refresh(login.refreshToken());
+
+        assertThat(refreshed.refreshToken()).isNotEqualTo(login.refreshToken());
+        assertThat(parse(refreshed.token()).id()).isEqualTo(user.getId());
+        assertThat(familyIds()).hasSize(1);
+        assertThat(authTokenService.refresh(refreshed.refreshToken()).refreshToken())
+                .isNotEqualTo(refreshed.refreshToken());
+    }
+
+    @Test
+    void reusedRefreshTokenRevokesFamilyAndAccessTokens() {
+        AuthResponse login = authTokenService.issue(user);
+        AuthResponse rotated = authTokenService.refresh(login.refreshToken());
+
+        assertThatThrownBy(() -> authTokenService.refresh(login.refreshToken()))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        // 폐기는 예외와 함께 롤백되지 않아야 한다
+        assertThat(familyIds()).isEmpty();
+        assertThatThrownBy(() -> authTokenService.refresh(rotated.refreshToken()))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> parse(login.token())).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> parse(rotated.token())).isInstanceOf(JwtException.class);
+
+        // 다시 로그인하면 새 토큰은 통과한다
+        assertThat(parse(authTokenService.issue(user).token()).id()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void concurrentRefreshWithSameTokenSucceedsOnce() throws Exception {
+        AuthResponse login = authTokenService.issue(user);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REFRESHES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AuthResponse>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_REFRESHES; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return authTokenService.refresh(login.refreshToken());
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<AuthResponse> result : results) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (Exception e) {
+                    assertThat(e.getCause()).isInstanceOf(InvalidRefreshTokenException.class);
+                }
+            }
+            assertThat(succeeded).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void expiredRefreshTokenIsRejected() {
+        AuthResponse login = authTokenService.issue(user);
+        jdbcTemplate.update("UPDATE refresh_tokens SET expires_at = DATEADD('DAY', -1, CURRENT_TIMESTAMP) WHERE user_id = ?",
+                user.getId());
+
+        assertThatThrownBy(() -> authTokenService.refresh(login.refreshToken()))
+                .isInstanceOf(InvalidRefreshTokenException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void logoutDeletesOnlyThatFamily() {
+        AuthResponse phone = authTokenService.issue(user);
+        AuthResponse laptop = authTokenService.issue(user);
+
+        authTokenService.logout(phone.refreshToken());
+
+        assertThatThrownBy(() -> authTokenService.refresh(phone.refreshToken()))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(authTokenService.refresh(laptop.refreshToken())).isNotNull();
+    }
+
+    // 폐기와 같은 밀리초(또는 초)에 발급된 토큰도 거절하고, 폐기 뒤에 재발급한 토큰만 통과시킨다
+    @Test
+    void revocationRejectsTokensIssuedUpToTheSameMillisecond() {
+        String before = authTokenService.issue(user).token();
+
+        authTokenService.revokeAll(user.getId());
+        String reissued = authTokenService.issue(user).token();
+
+        assertThatThrownBy(() -> parse(before)).isInstanceOf(JwtException.class);
+        assertThat(parse(reissued).id()).isEqualTo(user.getId());
+        assertThat(tokenDenyList.isRevoked(user.getId(), System.currentTimeMillis() + 60_000)).isFalse();
+    }
+
+    private AuthUser parse(String token) {
+        return jwtUtil.parse(token, username -> {
+            throw new AssertionError("token should carry uid/role claims");
+        });
+    }
+
+    private List<String> familyIds() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT family_id FROM refresh_tokens WHERE user_id = ?", String.class, user.getId());
+    }
+}
@@ -0,0 +1,72 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.controller.dto.CommentResponse;
+import com.pjy008008.j_community.model.CommentSort;
+import com.pjy008008.j_community.repository.CommentRow;
+import com.pjy008008.j_community.support.CommentCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommentTreeAssemblerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // 1 ─┬─ 2 ── 4 ── 5
+    //    └─ 3
+    private static final List<CommentRow> ROWS = List.of(
+            row(1L, null, 2),
+            row(2L, 1L, 1),
+            row(3L, 1L, 0),
+            row(4L, 2L, 1),
+            row(5L, 4L, 0)
+    );
+
+    @Test
+    void replyLimitZeroLeavesCursorFromStart() {
+        List<CommentResponse> tree = CommentTreeAssembler.assemble(ROWS, Map.of(), CommentSort.OLD, 10, 0);
+
+        assertThat(tree).hasSize(1);
+        CommentResponse root = tree.getFirst();
+        assertThat(root.replies()).isEmpty();
+        assertThat(CommentCursor.decode(root.moreReplies())).isEqualTo(CommentCursor.start(CommentSort.OLD, 1L));
+    }
+
+    @Test
+    void replyLimitOneLeavesCursorAfterLastShownReply() {
+        List<CommentResponse> tree = CommentTreeAssembler.assemble(ROWS, Map.of(), CommentSort.OLD, 10, 1);
+
+        CommentResponse root = tree.getFirst();
+        assertThat(root.replies()).extracting(CommentResponse::id).containsExactly(2L);
+        assertThat(CommentCursor.decode(root.moreReplies()))
+                .isEqualTo(CommentCursor.after(CommentSort.OLD, 1L, ROWS.get(1)));
+
+        CommentResponse reply = root.replies().getFirst();
+        assertThat(reply.replies()).extracting(CommentResponse::id).containsExactly(4L);
+        assertThat(reply.moreReplies()).isNull();
+        assertThat(reply.replies().getFirst().replies()).extracting(CommentResponse::id).containsExactly(5L);
+    }
+
+    @Test
+    void depthCutOffLeavesCursorFromStart() {
+        List<CommentResponse> tree = CommentTreeAssembler.assemble(ROWS, Map.of(), CommentSort.OLD, 1, 10);
+
+        CommentResponse root = tree.getFirst();
+        assertThat(root.replies()).extracting(CommentResponse::id).containsExactly(2L, 3L);
+        assertThat(root.moreReplies()).isNull();
+
+        CommentResponse cut = root.replies().getFirst();
+        assertThat(cut.replies()).isEmpty();
+        assertThat(CommentCursor.decode(cut.moreReplies())).isEqualTo(CommentCursor.start(CommentSort.OLD, 2L));
+        assertThat(root.replies().get(1).moreReplies()).isNull();
+    }
+
+    private static CommentRow row(Long id, Long parentId, int replyCount) {
+        return new CommentRow(id, parentId, "user" + id, "content " + id, 0, 0d, 0d, replyCount,
+                NOW.plusMinutes(id));
+    }
+}
@@ -0,0 +1,129 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.event.NotificationRequestedEvent;
+import com.pjy008008.j_community.model.NotificationType;
+import com.pjy008008.j_community.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class NotificationCoalescingTest {
+
+    private static final long TARGET_ID = 1L;
+    private static final int ACTORS = 4;
+
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> actors = new ArrayList<>();
+    private User recipient;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        recipient = userRepository.save(user("recipient-" + suffix));
+        for (int i = 0; i < ACTORS; i++) {
+            actors.add(userRepository.save(user("actor" + i + "-" + suffix)).getId());
+        }
+    }
+
+    // 새 행은 JDBC 배치로 INSERT되므로 행위자 기록은 createdAt으로 되찾은 id에 붙어야 한다
+    @Test
+    void batchCoalescesIntoNewRowAndRecordsActors() {
+        notificationService.saveAll(List.of(upvote(0), upvote(1), upvote(0)));
+
+        Map<String, Object> row = singleRow();
+        assertThat(row.get("actor_count")).isEqualTo(2);
+        assertThat(row.get("latest_actors")).isEqualTo(actors.get(0) + "," + actors.get(1));
+        assertThat(row.get("actor_id")).isEqualTo(actors.get(0));
+        assertThat(recordedActors((Long) row.get("id"))).containsExactlyInAnyOrder(actors.get(0), actors.get(1));
+    }
+
+    @Test
+    void laterBatchMergesIntoExistingRow() {
+        notificationService.saveAll(List.of(upvote(0)));
+        Long id = (Long) singleRow().get("id");
+
+        notificationService.saveAll(List.of(upvote(1)));
+
+        Map<String, Object> row = singleRow();
+        assertThat(row.get("id")).isEqualTo(id);
+        assertThat(row.get("actor_count")).isEqualTo(2);
+        assertThat(row.get("latest_actors")).isEqualTo(actors.get(1) + "," + actors.get(0));
+        assertThat(recordedActors(id)).containsExactlyInAnyOrder(actors.get(0), actors.get(1));
+    }
+
+    // 최근 목록에서 밀려난 뒤 다시 추천해도 notification_actors에 기록돼 있으므로 인원 수는 그대로다
+    @Test
+    void revoteAfterLeavingLatestActorsIsNotCountedTwice() {
+        notificationService.saveAll(List.of(upvote(0)));
+        notificationService.saveAll(List.of(upvote(1), upvote(2), upvote(3)));
+        assertThat(singleRow().get("latest_actors")).isEqualTo(actors.get(3) + "," + actors.get(2) + "," + actors.get(1));
+
+        notificationService.saveAll(List.of(upvote(0)));
+
+        Map<String, Object> row = singleRow();
+        assertThat(row.get("actor_count")).isEqualTo(ACTORS);
+        assertThat(row.get("latest_actors")).isEqualTo(actors.get(0) + "," + actors.get(3) + "," + actors.get(2));
+        assertThat(recordedActors((Long) row.get("id"))).hasSize(ACTORS).containsAll(actors);
+    }
+
+    // 읽은 행에 합쳐지면 다시 안 읽음이 되고 안 읽은 수도 1 늘지만, 안 읽은 행에 합쳐질 때는 그대로다
+    @Test
+    void mergingIntoReadRowMakesItUnreadAgain() {
+        notificationService.saveAll(List.of(upvote(0)));
+        Long id = (Long) singleRow().get("id");
+        assertThat(notificationService.getUnreadCount(recipient.getUsername())).isEqualTo(1);
+
+        notificationService.markAsRead(id, recipient.getUsername());
+        assertThat(notificationService.getUnreadCount(recipient.getUsername())).isZero();
+
+        notificationService.saveAll(List.of(upvote(1)));
+        assertThat(singleRow().get("is_read")).isEqualTo(false);
+        assertThat(notificationService.getUnreadCount(recipient.getUsername())).isEqualTo(1);
+
+        notificationService.saveAll(List.of(upvote(2)));
+        assertThat(notificationService.getUnreadCount(recipient.getUsername())).isEqualTo(1);
+    }
+
+    private NotificationRequestedEvent upvote(int actor) {
+        return new NotificationRequestedEvent(NotificationType.UPVOTE_POST, recipient.getId(), actors.get(actor),
+                TARGET_ID, "hot post");
+    }
+
+    private Map<String, Object> singleRow() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, actor_id, actor_count, latest_actors, is_read FROM notifications WHERE recipient_id = ?",
+                recipient.getId());
+        assertThat(rows).hasSize(1);
+        return rows.getFirst();
+    }
+
+    private List<Long> recordedActors(Long notificationId) {
+        return jdbcTemplate.queryForList(
+                "SELECT actor_id FROM notification_actors WHERE notification_id = ?", Long.class, notificationId);
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password")
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.pjy008008.j_community.service;
+
+import com.pjy008008.j_community.entity.Comment;
+import com.pjy008008.j_community.entity.Community;
+import com.pjy008008.j_community.entity.Post;
+import com.pjy008008.j_community.entity.User;
+import com.pjy008008.j_community.model.ColorTheme;
+import com.pjy008008.j_community.model.VoteType;
+import com.pjy008008.j_community.repository.CommentRepository;
+import com.pjy008008.j_community.repository.CommunityRepository;
+import com.pjy008008.j_community.repository.PostRepository;
+import com.pjy008008.j_community.repository.UserRepository;
+import com.pjy008008.j_community.support.HotRank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class VoteConcurrencyTest {
+
+    private static final int VOTERS = 32;
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> voters = new ArrayList<>();
+    private Post post;
+    private Comment comment;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User author = userRepository.save(user("author-" + suffix));
+        for (int i = 0; i < VOTERS; i++) {
+            voters.add(userRepository.save(user("voter" + i + "-" + suffix)).getUsername());
+        }
+
+        Community community = communityRepository.save(Community.builder()
+                .name("vote-" + suffix)
+                .description("concurrency")
+                .colorTheme(ColorTheme.BLUE)
+                .creator(author)
+                .build());
+        post = postRepository.save(Post.builder()
+                .title("hot post")
+                .content("content")
+                .author(author)
+                .community(community)
+                .build());
+        comment = commentRepository.save(Comment.builder()
+                .content("hot comment")
+                .author(author)
+                .post(post)
+                .build());
+    }
+
+    @Test
+    void parallelPostVotesAreAllCounted() throws Exception {
+        runConcurrently(username -> postService.votePost(post.getId(), VoteType.UP, username));
+
+        assertThat(postRepository.findVotesById(post.getId())).contains(VOTERS);
+        assertThat(countRows("post_votes", "post_id", post.getId())).isEqualTo(VOTERS);
+        assertThat(postRepository.findById(post.getId()).orElseThrow().getHotRank())
+                .isCloseTo(HotRank.of(VOTERS, post.getCreatedAt()), within(1e-9));
+
+        // 모두 같은 방향으로 다시 누르면 전부 취소된다
+        runConcurrently(username -> postService.votePost(post.getId(), VoteType.UP, username));
+
+        assertThat(postRepository.findVotesById(post.getId())).contains(0);
+        assertThat(countRows("post_votes", "post_id", post.getId())).isZero();
+    }
+
+    @Test
+    void parallelCommentVotesAreAllCounted() throws Exception {
+        runConcurrently(username -> commentService.voteComment(comment.getId(), VoteType.UP, username));
+
+        assertThat(commentRepository.findById(comment.getId()).orElseThrow().getVotes()).isEqualTo(VOTERS);
+        assertThat(countRows("comment_votes", "comment_id", comment.getId())).isEqualTo(VOTERS);
+
+        runConcurrently(username -> commentService.voteComment(comment.getId(), VoteType.DOWN, username));
+
+        assertThat(commentRepository.findById(comment.getId()).orElseThrow().getVotes()).isEqualTo(-VOTERS);
+        assertThat(countRows("comment_votes", "comment_id", comment.getId())).isEqualTo(VOTERS);
+    }
+
+    private void runConcurrently(Consumer<String> vote) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(VOTERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String username : voters) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    vote.accept(username);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int countRows(String table, String column, Long id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, id);
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password")
+                .build();
+    }
+}
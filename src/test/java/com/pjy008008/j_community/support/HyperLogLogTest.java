@@ -0,0 +1,83 @@
+package com.pjy008008.j_community.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    // 표준오차 약 1.6%이므로 3σ 남짓인 5% 안에 들어야 한다
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000, 10_000, 100_000})
+    void estimateStaysWithinErrorBound(int cardinality) {
+        HyperLogLog sketch = sketchOf(0, cardinality);
+
+        assertThat(sketch.estimate()).isCloseTo(cardinality, withinPercentage(5));
+    }
+
+    @Test
+    void repeatedValuesAreCountedOnce() {
+        HyperLogLog sketch = sketchOf(0, 1_000);
+        HyperLogLog repeated = sketchOf(0, 1_000);
+        for (int i = 0; i < 1_000; i++) {
+            repeated.offer("viewer-" + i);
+        }
+
+        assertThat(repeated.estimate()).isEqualTo(sketch.estimate());
+    }
+
+    @Test
+    void mergeEqualsSketchOfUnion() {
+        HyperLogLog left = sketchOf(0, 30_000);
+        HyperLogLog right = sketchOf(20_000, 50_000);
+        HyperLogLog union = sketchOf(0, 50_000);
+
+        left.merge(right);
+
+        assertThat(left.toBytes()).isEqualTo(union.toBytes());
+        assertThat(left.estimate()).isCloseTo(50_000L, withinPercentage(5));
+    }
+
+    @Test
+    void mergeIsIdempotent() {
+        HyperLogLog sketch = sketchOf(0, 5_000);
+        byte[] before = sketch.toBytes();
+
+        sketch.merge(sketchOf(0, 5_000));
+        sketch.merge(new HyperLogLog());
+
+        assertThat(sketch.toBytes()).isEqualTo(before);
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        HyperLogLog sketch = sketchOf(0, 10_000);
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertThat(restored.toBytes()).isEqualTo(sketch.toBytes());
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+    }
+
+    @Test
+    void malformedBytesGiveEmptySketch() {
+        assertThat(HyperLogLog.fromBytes(null).estimate()).isZero();
+        assertThat(HyperLogLog.fromBytes(new byte[16]).estimate()).isZero();
+    }
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.offer("viewer-" + i);
+        }
+        return sketch;
+    }
+}